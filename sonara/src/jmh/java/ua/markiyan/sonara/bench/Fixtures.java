@@ -0,0 +1,52 @@
+package ua.markiyan.sonara.bench;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Artist;
+import ua.markiyan.sonara.entity.Track;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/** Sample data shared by the benchmarks. */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static Track track(long id) {
+        Artist artist = Artist.builder().id(1L).name("Bench Artist").build();
+        Album album = Album.builder().id(1L).title("Bench Album").artist(artist).build();
+        return Track.builder()
+                .id(id)
+                .title("Bench Track " + id)
+                .durationSec(215)
+                .audioKey("bench/" + id)
+                .audioUrl("https://cloudflare.com/bench/" + id + ".mp3")
+                .album(album)
+                .artist(artist)
+                .build();
+    }
+
+    static List<TrackResponse> trackResponses(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new TrackResponse(id, "Bench Track " + id, 215, "bench/" + id, id % 7 == 0,
+                        "https://cloudflare.com/bench/" + id + ".mp3", 0, null))
+                .toList();
+    }
+
+    /** Link builders read scheme/host from the current request, as they do inside a controller. */
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks");
+        request.setServerName("api.sonara.com");
+        request.setServerPort(443);
+        request.setScheme("https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
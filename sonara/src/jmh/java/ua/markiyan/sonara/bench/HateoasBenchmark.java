@@ -0,0 +1,88 @@
+package ua.markiyan.sonara.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalConfiguration;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import ua.markiyan.sonara.controller.TrackController;
+import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.hateoas.TrackModelAssembler;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+import ua.markiyan.sonara.media.CdnAudioStorage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Per-page HATEOAS cost: building the links for every row of a track page and
+ * writing the resulting {@code PagedModel} as HAL JSON. {@code assemblePageMethodOn} keeps the
+ * old per-link {@code linkTo(methodOn(..))} assembly as the baseline for the link templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HateoasBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private TrackModelAssembler assembler;
+    private List<TrackResponse> tracks;
+    private PagedModel<EntityModel<TrackResponse>> page;
+    private ObjectMapper halMapper;
+
+    @Setup
+    public void setup() {
+        Fixtures.bindRequest();
+        // підписані URL — щоб у заміри потрапив і кеш підписів
+        assembler = new TrackModelAssembler(new AudioUrlResolver(new CdnAudioStorage("https://cdn.bench/"),
+                "bench-signing-key", Duration.ofHours(1), Duration.ofMinutes(5)));
+        tracks = Fixtures.trackResponses(pageSize);
+        page = PagedModel.of(tracks.stream().map(assembler::toModel).toList(),
+                new PagedModel.PageMetadata(pageSize, 0, 10_000));
+
+        halMapper = new ObjectMapper();
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY,
+                new HalConfiguration(), new DefaultListableBeanFactory()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        Fixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public List<EntityModel<TrackResponse>> assemblePage() {
+        return tracks.stream().map(assembler::toModel).toList();
+    }
+
+    @Benchmark
+    public List<EntityModel<TrackResponse>> assemblePageMethodOn() {
+        return tracks.stream().map(track -> EntityModel.of(track,
+                linkTo(methodOn(TrackController.class).get(track.id(), null)).withSelfRel(),
+                linkTo(methodOn(TrackController.class).search(null, null, null, null, null, null, null, null, null, null, Pageable.unpaged(), null)).withRel("tracks"),
+                linkTo(methodOn(TrackController.class).patch(track.id(), null)).withRel("update"),
+                linkTo(methodOn(TrackController.class).delete(track.id())).withRel("delete"))).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return halMapper.writeValueAsBytes(page);
+    }
+}
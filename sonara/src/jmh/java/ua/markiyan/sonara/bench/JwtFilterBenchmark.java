@@ -0,0 +1,59 @@
+package ua.markiyan.sonara.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import ua.markiyan.sonara.entity.User;
+import ua.markiyan.sonara.security.AuthUser;
+import ua.markiyan.sonara.security.JwtFilter;
+import ua.markiyan.sonara.security.JwtUtil;
+import ua.markiyan.sonara.security.RevocationList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter per-request cost with and without the verified-token cache.
+ * Runs in stateless mode so only token handling is measured, no user lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-sonara-jwt-filter-0123456789";
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private JwtFilter filter;
+    private String header;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 86_400_000L, cached ? 10_000 : 0, new SimpleMeterRegistry());
+        AuthUser user = new AuthUser(1L, "bench@sonara.com", "", User.Status.ACTIVE, List.of("ROLE_USER"));
+        header = "Bearer " + jwtUtil.generateToken(user.email(), user.claims());
+        filter = new JwtFilter(jwtUtil, username -> {
+            throw new UsernameNotFoundException("stateless benchmark must not look users up");
+        }, new RevocationList(), true, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1");
+        request.addHeader("Authorization", header);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+}
@@ -0,0 +1,56 @@
+package ua.markiyan.sonara.bench;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import ua.markiyan.sonara.security.JwtUtil;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Token verification and password hashing, the two CPU-heavy steps of authentication. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-sonara-jwt-filter-0123456789";
+    private static final String PASSWORD = "correct_password";
+
+    private JwtUtil uncachedJwt;
+    private JwtUtil cachedJwt;
+    private String token;
+    private BCryptPasswordEncoder encoder;
+    private String passwordHash;
+
+    @Setup
+    public void setup() {
+        uncachedJwt = new JwtUtil(SECRET, 86_400_000L, 0, new SimpleMeterRegistry());
+        cachedJwt = new JwtUtil(SECRET, 86_400_000L, 10_000, new SimpleMeterRegistry());
+        token = uncachedJwt.generateToken("bench@sonara.com", Map.of("userId", 1L));
+
+        encoder = new BCryptPasswordEncoder();
+        passwordHash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public Jws<Claims> parseToken() {
+        return uncachedJwt.parseToken(token);
+    }
+
+    @Benchmark
+    public Jws<Claims> parseTokenCached() {
+        return cachedJwt.parseToken(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return encoder.matches(PASSWORD, passwordHash);
+    }
+}
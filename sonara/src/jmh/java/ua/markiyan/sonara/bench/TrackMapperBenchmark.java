@@ -0,0 +1,30 @@
+package ua.markiyan.sonara.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.mapper.TrackMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/** Entity -> DTO mapping cost, the baseline every list endpoint pays per row. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackMapperBenchmark {
+
+    private Track track;
+
+    @Setup
+    public void setup() {
+        track = Fixtures.track(42L);
+    }
+
+    @Benchmark
+    public TrackResponse toResponse() {
+        return TrackMapper.toResponse(track);
+    }
+}
@@ -0,0 +1,160 @@
+package ua.markiyan.sonara.chart;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.entity.PlayEvent;
+import ua.markiyan.sonara.service.impl.PlayEventWriter.PendingPlay;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Counts written plays in memory per (hour, track, listener country) and periodically adds
+ * the counts to {@code track_play_hourly} / {@code track_play_daily}. Between rollups a play
+ * costs one striped-lock increment; a rollup is a couple of JDBC batches, not a GROUP BY over events.
+ * <p>
+ * Counts not yet rolled up are lost if the process dies (the raw {@code play_event} rows stay).
+ */
+@Slf4j
+@Component
+public class ChartAccumulator implements SmartLifecycle {
+
+    record PlayKey(LocalDateTime hour, long trackId, String country) {}
+
+    private record DayKey(LocalDate day, long trackId, String country) {}
+
+    private static final String UPDATE_HOURLY = """
+            update track_play_hourly set plays = plays + :plays
+            where bucket_start = :bucket and track_id = :trackId and country = :country""";
+    private static final String INSERT_HOURLY = """
+            insert into track_play_hourly (bucket_start, track_id, artist_id, album_id, country, plays)
+            select :bucket, t.id, t.artist_id, t.album_id, :country, :plays from track t where t.id = :trackId""";
+    private static final String UPDATE_DAILY = """
+            update track_play_daily set plays = plays + :plays
+            where play_date = :bucket and track_id = :trackId and country = :country""";
+    private static final String INSERT_DAILY = """
+            insert into track_play_daily (play_date, track_id, artist_id, album_id, country, plays)
+            select :bucket, t.id, t.artist_id, t.album_id, :country, :plays from track t where t.id = :trackId""";
+
+    private final ShardedCounter<PlayKey> counts = new ShardedCounter<>(16);
+    // userId -> нормалізована країна ("" — невідома)
+    private final Cache<Long, String> countries = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private volatile boolean running;
+
+    public ChartAccumulator(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /** Called by the play writer with the events it has just persisted; only stream starts count as plays. */
+    public void record(List<PendingPlay> written) {
+        List<PendingPlay> starts = written.stream().filter(p -> p.type() == PlayEvent.Type.START).toList();
+        if (starts.isEmpty()) return;
+        Map<Long, String> byUser = countriesOf(starts.stream().map(PendingPlay::userId).collect(HashSet::new, Set::add, Set::addAll));
+        for (PendingPlay p : starts) {
+            counts.add(new PlayKey(p.occurredAt().truncatedTo(ChronoUnit.HOURS), p.trackId(),
+                    byUser.getOrDefault(p.userId(), "")), 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.charts.rollup-interval:60s}", initialDelayString = "${app.charts.rollup-interval:60s}")
+    public synchronized void rollup() {
+        Map<PlayKey, Long> hourly = counts.drain();
+        if (hourly.isEmpty()) return;
+        Map<DayKey, Long> daily = new HashMap<>();
+        hourly.forEach((k, n) -> daily.merge(new DayKey(k.hour().toLocalDate(), k.trackId(), k.country()), n, Long::sum));
+        try {
+            tx.executeWithoutResult(status -> {
+                upsert(UPDATE_HOURLY, INSERT_HOURLY, hourly.entrySet().stream()
+                        .map(e -> params(Timestamp.valueOf(e.getKey().hour()), e.getKey().trackId(), e.getKey().country(), e.getValue()))
+                        .toList());
+                upsert(UPDATE_DAILY, INSERT_DAILY, daily.entrySet().stream()
+                        .map(e -> params(Date.valueOf(e.getKey().day()), e.getKey().trackId(), e.getKey().country(), e.getValue()))
+                        .toList());
+            });
+            log.debug("Chart rollup: {} hourly and {} daily buckets", hourly.size(), daily.size());
+        } catch (RuntimeException e) {
+            hourly.forEach(counts::add); // повернемо лічильники — наступний rollup спробує ще раз
+            log.warn("Chart rollup failed, {} buckets kept for the next attempt", hourly.size(), e);
+        }
+    }
+
+    /** Adds to existing buckets with one batch, inserts the missing ones with another. */
+    private void upsert(String updateSql, String insertSql, List<MapSqlParameterSource> rows) {
+        MapSqlParameterSource[] all = rows.toArray(MapSqlParameterSource[]::new);
+        int[] updated = jdbc.batchUpdate(updateSql, all);
+        List<MapSqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) missing.add(all[i]); // SUCCESS_NO_INFO (-2) вважаємо оновленим
+        }
+        if (!missing.isEmpty()) jdbc.batchUpdate(insertSql, missing.toArray(MapSqlParameterSource[]::new));
+    }
+
+    private static MapSqlParameterSource params(Object bucket, long trackId, String country, long plays) {
+        return new MapSqlParameterSource()
+                .addValue("bucket", bucket)
+                .addValue("trackId", trackId)
+                .addValue("country", country)
+                .addValue("plays", plays);
+    }
+
+    /** Cached country per user; misses are loaded with one {@code IN} query. */
+    private Map<Long, String> countriesOf(Set<Long> userIds) {
+        Map<Long, String> result = new HashMap<>(countries.getAllPresent(userIds));
+        Set<Long> missing = new HashSet<>(userIds);
+        missing.removeAll(result.keySet());
+        if (!missing.isEmpty()) {
+            jdbc.query("select id, country from users where id in (:ids)", Map.of("ids", missing), rs -> {
+                String country = normalizeCountry(rs.getString("country"));
+                result.put(rs.getLong("id"), country);
+                countries.put(rs.getLong("id"), country);
+            });
+        }
+        return result;
+    }
+
+    public static String normalizeCountry(String country) {
+        return country == null ? "" : country.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        rollup();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops after {@code PlayEventWriter}, so its final flush is rolled up too. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
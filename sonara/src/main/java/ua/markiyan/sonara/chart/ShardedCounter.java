@@ -0,0 +1,56 @@
+package ua.markiyan.sonara.chart;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map of counters split into lock-striped shards: writers only contend when their keys hash
+ * to the same shard, and {@link #drain()} swaps each shard out in O(1) under its lock, so no
+ * increment is lost or counted twice across a rollup.
+ */
+final class ShardedCounter<K> {
+
+    private final Object[] locks;
+    private final Map<K, long[]>[] shards;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    ShardedCounter(int shardCount) {
+        int n = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1; // степінь двійки
+        this.locks = new Object[n];
+        this.shards = new Map[n];
+        for (int i = 0; i < n; i++) {
+            locks[i] = new Object();
+            shards[i] = new HashMap<>();
+        }
+        this.mask = n - 1;
+    }
+
+    void add(K key, long delta) {
+        int i = index(key);
+        synchronized (locks[i]) {
+            long[] cell = shards[i].get(key);
+            if (cell == null) shards[i].put(key, new long[]{delta});
+            else cell[0] += delta;
+        }
+    }
+
+    /** Returns everything counted since the previous drain and starts from zero. */
+    Map<K, Long> drain() {
+        Map<K, Long> result = new HashMap<>();
+        for (int i = 0; i < shards.length; i++) {
+            Map<K, long[]> taken;
+            synchronized (locks[i]) {
+                taken = shards[i];
+                shards[i] = new HashMap<>();
+            }
+            taken.forEach((k, cell) -> result.merge(k, cell[0], Long::sum));
+        }
+        return result;
+    }
+
+    private int index(K key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,148 @@
+package ua.markiyan.sonara.chart;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.markiyan.sonara.dto.response.ChartEntryResponse;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Top-K charts (global, per listener country, per artist) over the last {@code app.charts.window-days}
+ * days of {@code track_play_daily}. Rebuilt on a schedule with bounded heaps and published as an
+ * immutable snapshot, so a read is a map lookup plus a sublist - no DB access.
+ */
+@Slf4j
+@Component
+public class TopCharts {
+
+    private static final String PLAYS_BY_TRACK_AND_COUNTRY = """
+            select track_id, artist_id, country, sum(plays) as plays
+            from track_play_daily
+            where play_date >= :from
+            group by track_id, artist_id, country""";
+    private static final String TRACK_NAMES = """
+            select t.id, t.title, a.id as artist_id, a.name
+            from track t join artist a on a.id = t.artist_id
+            where t.id in (:ids)""";
+    private static final int IN_CHUNK = 1000;
+
+    private record Snapshot(LocalDateTime refreshedAt,
+                            List<ChartEntryResponse> global,
+                            Map<String, List<ChartEntryResponse>> byCountry,
+                            Map<Long, List<ChartEntryResponse>> byArtist) {}
+
+    private record Names(String title, long artistId, String artist) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final int size;
+    private final int windowDays;
+
+    private volatile Snapshot snapshot = new Snapshot(null, List.of(), Map.of(), Map.of());
+
+    public TopCharts(NamedParameterJdbcTemplate jdbc,
+                     @Value("${app.charts.size:100}") int size,
+                     @Value("${app.charts.window-days:7}") int windowDays) {
+        this.jdbc = jdbc;
+        this.size = size;
+        this.windowDays = windowDays;
+    }
+
+    public int size() { return size; }
+    public int windowDays() { return windowDays; }
+    public LocalDateTime refreshedAt() { return snapshot.refreshedAt(); }
+
+    public List<ChartEntryResponse> global(int limit) {
+        return head(snapshot.global(), limit);
+    }
+
+    public List<ChartEntryResponse> country(String country, int limit) {
+        return head(snapshot.byCountry().getOrDefault(ChartAccumulator.normalizeCountry(country), List.of()), limit);
+    }
+
+    public List<ChartEntryResponse> artist(Long artistId, int limit) {
+        return head(snapshot.byArtist().getOrDefault(artistId, List.of()), limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.charts.refresh-interval:5m}", initialDelayString = "${app.charts.refresh-interval:5m}")
+    public synchronized void refresh() {
+        long started = System.nanoTime();
+        Map<Long, long[]> totals = new HashMap<>();   // track -> plays
+        Map<Long, Long> artistOf = new HashMap<>();   // track -> artist
+        Map<String, TopK> countryHeaps = new HashMap<>();
+
+        // рядки йдуть потоком: у пам'яті лише суми по треках і купи по K
+        jdbc.query(PLAYS_BY_TRACK_AND_COUNTRY, Map.of("from", Date.valueOf(LocalDate.now().minusDays(windowDays - 1L))),
+                (RowCallbackHandler) rs -> {
+                    long trackId = rs.getLong("track_id");
+                    long plays = rs.getLong("plays");
+                    String country = rs.getString("country");
+                    totals.computeIfAbsent(trackId, id -> new long[1])[0] += plays;
+                    artistOf.put(trackId, rs.getLong("artist_id"));
+                    if (!country.isEmpty()) countryHeaps.computeIfAbsent(country, c -> new TopK(size)).offer(trackId, plays);
+                });
+
+        TopK globalHeap = new TopK(size);
+        Map<Long, TopK> artistHeaps = new HashMap<>();
+        totals.forEach((trackId, plays) -> {
+            globalHeap.offer(trackId, plays[0]);
+            artistHeaps.computeIfAbsent(artistOf.get(trackId), a -> new TopK(size)).offer(trackId, plays[0]);
+        });
+
+        List<TopK.Scored> global = globalHeap.sorted();
+        Map<String, List<TopK.Scored>> byCountry = new HashMap<>();
+        countryHeaps.forEach((c, heap) -> byCountry.put(c, heap.sorted()));
+        Map<Long, List<TopK.Scored>> byArtist = new HashMap<>();
+        artistHeaps.forEach((a, heap) -> byArtist.put(a, heap.sorted()));
+
+        Set<Long> charted = new HashSet<>();
+        global.forEach(s -> charted.add(s.id()));
+        byCountry.values().forEach(l -> l.forEach(s -> charted.add(s.id())));
+        byArtist.values().forEach(l -> l.forEach(s -> charted.add(s.id())));
+        Map<Long, Names> names = names(charted);
+
+        Map<String, List<ChartEntryResponse>> countryCharts = new HashMap<>();
+        byCountry.forEach((c, l) -> countryCharts.put(c, entries(l, names)));
+        Map<Long, List<ChartEntryResponse>> artistCharts = new HashMap<>();
+        byArtist.forEach((a, l) -> artistCharts.put(a, entries(l, names)));
+
+        snapshot = new Snapshot(LocalDateTime.now(), entries(global, names), Map.copyOf(countryCharts), Map.copyOf(artistCharts));
+        log.info("Charts refreshed: {} tracks, {} countries, {} artists in {} ms",
+                totals.size(), countryCharts.size(), artistCharts.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Titles and artist names for charted tracks only, in {@code IN} chunks. */
+    private Map<Long, Names> names(Set<Long> trackIds) {
+        Map<Long, Names> names = new HashMap<>();
+        List<Long> ids = List.copyOf(trackIds);
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CHUNK, ids.size()));
+            jdbc.query(TRACK_NAMES, Map.of("ids", chunk), (RowCallbackHandler) rs -> names.put(rs.getLong("id"),
+                    new Names(rs.getString("title"), rs.getLong("artist_id"), rs.getString("name"))));
+        }
+        return names;
+    }
+
+    private static List<ChartEntryResponse> entries(List<TopK.Scored> scored, Map<Long, Names> names) {
+        List<ChartEntryResponse> entries = new ArrayList<>(scored.size());
+        for (TopK.Scored s : scored) {
+            Names n = names.get(s.id());
+            if (n == null) continue; // трек видалили після rollup
+            entries.add(new ChartEntryResponse(entries.size() + 1, s.id(), n.title(), n.artistId(), n.artist(), s.score()));
+        }
+        return List.copyOf(entries);
+    }
+
+    private static List<ChartEntryResponse> head(List<ChartEntryResponse> chart, int limit) {
+        return limit >= chart.size() ? chart : chart.subList(0, Math.max(limit, 0));
+    }
+}
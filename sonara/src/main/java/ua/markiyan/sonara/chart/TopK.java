@@ -0,0 +1,46 @@
+package ua.markiyan.sonara.chart;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded min-heap keeping the {@code k} largest scores: O(log k) per offer, O(k) memory.
+ * Ties go to the smaller id, so charts are stable between refreshes.
+ */
+final class TopK {
+
+    record Scored(long id, long score) {}
+
+    // корінь — найслабший з поточних k
+    private static final Comparator<Scored> WEAKEST_FIRST = Comparator
+            .comparingLong(Scored::score)
+            .thenComparing(Comparator.comparingLong(Scored::id).reversed());
+
+    private final int k;
+    private final PriorityQueue<Scored> heap;
+
+    TopK(int k) {
+        this.k = k;
+        this.heap = new PriorityQueue<>(k + 1, WEAKEST_FIRST);
+    }
+
+    void offer(long id, long score) {
+        if (k == 0) return;
+        Scored s = new Scored(id, score);
+        if (heap.size() < k) {
+            heap.add(s);
+        } else if (WEAKEST_FIRST.compare(s, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(s);
+        }
+    }
+
+    /** Best first. */
+    List<Scored> sorted() {
+        List<Scored> list = new ArrayList<>(heap);
+        list.sort(WEAKEST_FIRST.reversed());
+        return list;
+    }
+}
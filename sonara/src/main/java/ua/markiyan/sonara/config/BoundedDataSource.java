@@ -0,0 +1,122 @@
+package ua.markiyan.sonara.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most {@code permits} threads hold a connection at a time; the rest wait in FIFO order
+ * on a fair semaphore in front of the pool, for at most {@code timeoutMs}.
+ * <p>
+ * With virtual threads there is no request-thread limit any more, so thousands of requests can
+ * reach the pool at once. Waiting here is a cheap park of a virtual thread and keeps the order fair;
+ * waiting inside the pool means thousands of timed waiters competing for every released connection.
+ * The permit is returned when the connection is closed (given back to the pool).
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long timeoutMs;
+
+    public BoundedDataSource(DataSource target, int permits, long timeoutMs) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database permit within %d ms (%d waiting)".formatted(timeoutMs, permits.getQueueLength()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ReleaseOnClose(connection, permits));
+    }
+
+    /** Returns the permit on the first {@code close()}; repeated closes are no-ops for the semaphore. */
+    private record ReleaseOnClose(Connection target, Semaphore permits, AtomicBoolean released)
+            implements InvocationHandler {
+
+        ReleaseOnClose(Connection target, Semaphore permits) {
+            this(target, permits, new AtomicBoolean());
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) permits.release();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return released.get() || target.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ua.markiyan.sonara.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ua.markiyan.sonara.dto.response.Versioned;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded in-process caches (Caffeine) for catalog reads.
+ * Puts and evictions are transaction-aware: they are applied after commit, so a rolled back
+ * update never leaves a stale entry. Catalog caches never replace an entry with an older version:
+ * a read that loaded the row before a concurrent update may commit (and put) after the update's
+ * {@code @CachePut}. Hit/miss statistics are exported by actuator as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TRACKS = "tracks";
+    public static final String ALBUMS = "albums";
+    public static final String ARTISTS = "artists";
+    public static final String USER_DETAILS = "userDetails";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.catalog.max-size:10000}") long catalogMaxSize,
+                                     @Value("${app.cache.catalog.ttl:10m}") Duration catalogTtl,
+                                     @Value("${app.cache.user-details.max-size:10000}") long userMaxSize,
+                                     @Value("${app.cache.user-details.ttl:30s}") Duration userTtl) {
+        CaffeineCacheManager manager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return name.equals(USER_DETAILS) ? super.adaptCaffeineCache(name, cache) : new VersionedCache(name, cache);
+            }
+        };
+        manager.setCacheNames(List.of()); // тільки явно зареєстровані кеші
+        for (String name : List.of(TRACKS, ALBUMS, ARTISTS)) {
+            manager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(catalogMaxSize)
+                    .expireAfterWrite(catalogTtl)
+                    .recordStats()
+                    .build());
+        }
+        // короткий TTL: зміна статусу/пароля має швидко дійти навіть без явного evict (інший вузол)
+        manager.registerCustomCache(USER_DETAILS, Caffeine.newBuilder()
+                .maximumSize(userMaxSize)
+                .expireAfterWrite(userTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    /** Evicts rows removed by a DB cascade (album tracks, artist albums), keyed by id like the service caches. */
+    public static void evictAll(CacheManager cacheManager, String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) ids.forEach(cache::evict);
+    }
+
+    /** Keeps the newer of the cached and the incoming {@link Versioned} value; equal versions are replaced. */
+    static final class VersionedCache extends CaffeineCache {
+
+        VersionedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+            super(name, cache);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (!(value instanceof Versioned incoming)) {
+                super.put(key, value);
+                return;
+            }
+            getNativeCache().asMap().merge(key, value, (cached, fresh) ->
+                    cached instanceof Versioned v && v.version() > incoming.version() ? cached : fresh);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ua.markiyan.sonara.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, enabled by {@code app.datasource.replicas[0].url}.
+ * <p>
+ * The application {@code DataSource} becomes a {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched at the first statement, after the transaction manager has marked it
+ * read-only. {@code @Transactional(readOnly = true)} work then runs on a {@link ReplicaDataSource}
+ * connection, everything else (and read-only methods joining a read-write transaction) on the primary.
+ * <p>
+ * Replication is asynchronous: a read-only call right after a write may not see it yet.
+ * Keep such reads inside the writing transaction.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReadReplicaConfig.ReplicaProperties.class)
+public class ReadReplicaConfig implements DisposableBean {
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @ConfigurationProperties("app.datasource")
+    public record ReplicaProperties(List<Endpoint> replicas,
+                                    @DefaultValue("10s") Duration replicaMaxLag,
+                                    @DefaultValue("2s") Duration replicaConnectionTimeout,
+                                    String replicaLagQuery) {
+
+        public record Endpoint(String url, String username, String password) {}
+    }
+
+    @Bean
+    DataSource primaryDataSource(DataSourceProperties properties, Environment env) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return primary;
+    }
+
+    @Bean
+    ReplicaDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                        DataSourceProperties primaryProperties,
+                                        ReplicaProperties properties,
+                                        Environment env,
+                                        MeterRegistry meterRegistry) {
+        List<ReplicaDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaProperties.Endpoint endpoint = properties.replicas().get(i);
+            HikariDataSource pool = new HikariDataSource(); // без старту пулу: недоступна репліка не валить застосунок
+            Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(endpoint.url());
+            pool.setUsername(endpoint.username() != null ? endpoint.username() : primaryProperties.determineUsername());
+            pool.setPassword(endpoint.password() != null ? endpoint.password() : primaryProperties.determinePassword());
+            pool.setDriverClassName(primaryProperties.determineDriverClassName());
+            pool.setReadOnly(true);
+            // не 30 с Hikari: недоступна репліка має швидко віддати запит на primary, а не тримати його
+            pool.setConnectionTimeout(properties.replicaConnectionTimeout().toMillis());
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(pool);
+
+            DataSource dataSource = Threading.VIRTUAL.isActive(env) ? VirtualThreadsConfig.bounded(pool, env) : pool;
+            replicas.add(new ReplicaDataSource.Replica(pool.getPoolName(), dataSource));
+        }
+
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(primary, replicas,
+                properties.replicaLagQuery(), properties.replicaMaxLag());
+        replicaDataSource.checkHealth();
+        log.info("Read replicas: {} configured, {} healthy", replicas.size(), replicaDataSource.healthyReplicas());
+
+        Gauge.builder("db.replicas.healthy", replicaDataSource, ReplicaDataSource::healthyReplicas)
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+        FunctionCounter.builder("db.replicas.fallbacks", replicaDataSource, ReplicaDataSource::fallbacks)
+                .description("Read-only checkouts served by the primary because no replica was usable")
+                .register(meterRegistry);
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaDataSource replicas) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replicas);
+        return routing;
+    }
+
+    @Bean
+    ReplicaHealthCheck replicaHealthCheck(ReplicaDataSource replicas) {
+        return new ReplicaHealthCheck(replicas);
+    }
+
+    @Override
+    public void destroy() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+
+    record ReplicaHealthCheck(ReplicaDataSource replicas) {
+
+        @Scheduled(fixedDelayString = "${app.datasource.replica-check-interval:5s}")
+        public void run() {
+            replicas.checkHealth();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ua.markiyan.sonara.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connections for read-only transactions: round-robin over the replicas that passed the last
+ * {@link #checkHealth()}, falling back to the primary when none is usable.
+ * <p>
+ * A replica is healthy when it answers within the check timeout and, if a lag query is configured,
+ * reports at most {@code maxLag} seconds of replication delay. A replica that fails a checkout is
+ * taken out right away and only comes back with the next successful check.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaDataSource(DataSource primary, List<Replica> replicas, String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((start + i) % n);
+            if (!replica.healthy) continue;
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.down("checkout failed: " + e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials are configured per pool");
+    }
+
+    /** Probes every replica; called on a schedule and once at startup. */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection con = replica.dataSource.getConnection()) {
+                if (!con.isValid(CHECK_TIMEOUT_SECONDS)) {
+                    replica.down("connection not valid");
+                    continue;
+                }
+                long lag = lagSeconds(con);
+                if (lag > maxLagSeconds) replica.down("lagging %d s".formatted(lag));
+                else replica.up();
+            } catch (SQLException | RuntimeException e) {
+                replica.down(e.getMessage());
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(r -> r.healthy).count();
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    /** Read-only checkouts that went to the primary because no replica was usable. */
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    private long lagSeconds(Connection con) throws SQLException {
+        if (lagQuery == null) return 0;
+        try (Statement st = con.createStatement()) {
+            st.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet rs = st.executeQuery(lagQuery)) {
+                // NULL (реплікація зупинена) або порожній результат — вважаємо нескінченним відставанням
+                if (!rs.next()) return Long.MAX_VALUE;
+                long lag = rs.getLong(1);
+                return rs.wasNull() ? Long.MAX_VALUE : lag;
+            }
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        private void up() {
+            if (!healthy) log.info("Read replica {} is in rotation", name);
+            healthy = true;
+        }
+
+        private void down(String reason) {
+            if (healthy) log.warn("Read replica {} taken out of rotation: {}", name, reason);
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ua.markiyan.sonara.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread mode ({@code spring.threads.virtual.enabled=true}): Spring Boot already runs Tomcat
+ * requests, {@code @Async}/MVC async work and {@code @Scheduled} jobs on virtual threads.
+ * What is left is the database: every Hikari pool is put behind a {@link BoundedDataSource}
+ * with as many permits as the pool has connections ({@code app.db.max-concurrency} overrides),
+ * so unbounded request concurrency turns into a fair queue instead of a pile-up inside the pool.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) return bean;
+                return bounded(hikari, env);
+            }
+        };
+    }
+
+    /** Pools that are not beans (read replicas) go through here directly. */
+    static DataSource bounded(HikariDataSource hikari, Environment env) {
+        int permits = env.getProperty("app.db.max-concurrency", Integer.class, hikari.getMaximumPoolSize());
+        log.info("DataSource {}: at most {} concurrent connections for virtual threads", hikari.getJdbcUrl(), permits);
+        return new BoundedDataSource(hikari, permits, hikari.getConnectionTimeout());
+    }
+}
@@ -7,23 +7,38 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.*;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ua.markiyan.sonara.dto.request.AlbumRequest;
 import ua.markiyan.sonara.dto.response.AlbumResponse;
 
 import ua.markiyan.sonara.service.AlbumService;
+import ua.markiyan.sonara.entity.Album;
 import ua.markiyan.sonara.hateoas.AlbumModelAssembler;
+import ua.markiyan.sonara.hateoas.ConditionalResponses;
+import ua.markiyan.sonara.hateoas.CursorCodec;
+import ua.markiyan.sonara.hateoas.CursorResourcesAssembler;
 
 import java.time.LocalDate;
+import java.util.Set;
+
+import static ua.markiyan.sonara.hateoas.ConditionalResponses.strongETag;
+import static ua.markiyan.sonara.hateoas.ConditionalResponses.weakETag;
 
 @RestController
 @RequestMapping("/api/albums")
 @RequiredArgsConstructor
 public class AlbumController {
+    private static final Set<String> SCROLL_SORT = Set.of("title", "releaseDate");
+
     private final AlbumService albumService;
     private final AlbumModelAssembler assembler;
+    private final CursorResourcesAssembler cursorAssembler;
+    private final CursorCodec cursorCodec;
+    private final ConditionalResponses conditional;
 
     @PostMapping
     public ResponseEntity<EntityModel<AlbumResponse>> create(@Valid @RequestBody AlbumRequest req) {
@@ -32,19 +47,36 @@ public class AlbumController {
     }
 
     @GetMapping("/{id}")
-    public EntityModel<AlbumResponse> get(@PathVariable Long id) {
-        return assembler.toModel(albumService.get(id));
+    public ResponseEntity<EntityModel<AlbumResponse>> get(@PathVariable Long id, WebRequest request) {
+        AlbumResponse dto = albumService.get(id);
+        return conditional.entity(request, strongETag("al" + id, dto.version()), dto.updatedAt(),
+                () -> assembler.toModel(dto));
     }
 
     @GetMapping
-    public PagedModel<EntityModel<AlbumResponse>> search(
+    public ResponseEntity<PagedModel<EntityModel<AlbumResponse>>> search(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) LocalDate releaseDate,
             Pageable pageable, // автоматично підхопить page, size, sort
-            PagedResourcesAssembler<AlbumResponse> pagedAssembler
+            PagedResourcesAssembler<AlbumResponse> pagedAssembler,
+            WebRequest request
     ) {
         Page<AlbumResponse> page = albumService.search(title, releaseDate, pageable);
-        return pagedAssembler.toModel(page, assembler);
+        return conditional.page(request, weakETag(page.getContent(), AlbumResponse::id, AlbumResponse::version,
+                page.getTotalElements()), () -> pagedAssembler.toModel(page, assembler));
+    }
+
+    // keyset-режим: next-посилання несе непрозорий токен after
+    @GetMapping("/scroll")
+    public CollectionModel<EntityModel<AlbumResponse>> scroll(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) LocalDate releaseDate,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort
+    ) {
+        var position = cursorCodec.decode(after, sort, Album.class, SCROLL_SORT);
+        return cursorAssembler.toModel(albumService.scroll(title, releaseDate, position, Math.clamp(size, 1, 100), sort), assembler);
     }
 
     @PatchMapping("/{id}")
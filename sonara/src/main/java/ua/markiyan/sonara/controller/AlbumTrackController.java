@@ -10,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ua.markiyan.sonara.dto.request.AlbumTrackRequest;
+import ua.markiyan.sonara.dto.request.TrackFilter;
 import ua.markiyan.sonara.dto.response.TrackResponse;
 import ua.markiyan.sonara.service.TrackService;
 import ua.markiyan.sonara.hateoas.TrackModelAssembler;
@@ -31,7 +32,8 @@ public class AlbumTrackController {
                                       @RequestParam(required = false) Boolean explicitFlag,
                                       Pageable pageable
     ) {
-        Page<TrackResponse> page = trackService.searchInAlbum(albumId, title, durationSec, explicitFlag, pageable);
+        TrackFilter filter = new TrackFilter(title, durationSec, null, null, explicitFlag, albumId, null, null, null);
+        Page<TrackResponse> page = trackService.search(filter, pageable);
         return pagedAssembler.toModel(page, assembler);
     }
 
@@ -6,8 +6,11 @@ import org.springframework.hateoas.*;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.markiyan.sonara.dto.request.ArtistAlbumTrackRequest;
 import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.export.ExportFormat;
+import ua.markiyan.sonara.service.ExportService;
 import ua.markiyan.sonara.service.TrackService;
 import ua.markiyan.sonara.hateoas.TrackModelAssembler;
 
@@ -20,6 +23,7 @@ public class ArtistAlbumTracksController {
 
     private final TrackService service;
     private final TrackModelAssembler assembler;
+    private final ExportService exportService;
 
     @GetMapping
     public CollectionModel<EntityModel<TrackResponse>> list(@PathVariable Long artistId, @PathVariable Long albumId) {
@@ -28,6 +32,18 @@ public class ArtistAlbumTracksController {
         return CollectionModel.of(models, WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ArtistAlbumTracksController.class).list(artistId, albumId)).withSelfRel());
     }
 
+    /** Streams the whole album as {@code ndjson}, {@code m3u} or {@code jspf}. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long artistId, @PathVariable Long albumId, @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat f = ExportFormat.of(format);
+        StreamingResponseBody body = exportService.exportAlbum(artistId, albumId, f);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("album-" + albumId + "." + f.extension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/{trackId}")
     public EntityModel<TrackResponse> getOne(@PathVariable Long artistId,
                                 @PathVariable Long albumId,
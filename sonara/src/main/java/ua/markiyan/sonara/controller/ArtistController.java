@@ -8,10 +8,15 @@ import org.springframework.hateoas.*;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ua.markiyan.sonara.dto.request.ArtistRequest;
 import ua.markiyan.sonara.dto.response.ArtistResponse;
 import ua.markiyan.sonara.service.ArtistService;
 import ua.markiyan.sonara.hateoas.ArtistModelAssembler;
+import ua.markiyan.sonara.hateoas.ConditionalResponses;
+
+import static ua.markiyan.sonara.hateoas.ConditionalResponses.strongETag;
+import static ua.markiyan.sonara.hateoas.ConditionalResponses.weakETag;
 
 
 @RestController
@@ -22,6 +27,7 @@ public class ArtistController {
     private final ArtistService artistService;
     private final ArtistModelAssembler assembler;
     private final PagedResourcesAssembler<ArtistResponse> pagedAssembler;
+    private final ConditionalResponses conditional;
 
     @PostMapping
     public ResponseEntity<EntityModel<ArtistResponse>> create(@Valid @RequestBody ArtistRequest req) {
@@ -29,18 +35,22 @@ public class ArtistController {
     }
 
     @GetMapping("/{id}")
-    public EntityModel<ArtistResponse> get(@PathVariable Long id) {
-        return assembler.toModel(artistService.get(id));
+    public ResponseEntity<EntityModel<ArtistResponse>> get(@PathVariable Long id, WebRequest request) {
+        ArtistResponse dto = artistService.get(id);
+        return conditional.entity(request, strongETag("ar" + id, dto.version()), dto.updatedAt(),
+                () -> assembler.toModel(dto));
     }
 
     @GetMapping
-    public PagedModel<EntityModel<ArtistResponse>> search(
+    public ResponseEntity<PagedModel<EntityModel<ArtistResponse>>> search(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String country,
-            Pageable pageable // автоматично підхопить page, size, sort
+            Pageable pageable, // автоматично підхопить page, size, sort
+            WebRequest request
     ) {
         Page<ArtistResponse> page = artistService.search(name, country, pageable);
-        return pagedAssembler.toModel(page, assembler);
+        return conditional.page(request, weakETag(page.getContent(), ArtistResponse::id, ArtistResponse::version,
+                page.getTotalElements()), () -> pagedAssembler.toModel(page, assembler));
     }
 
     @PatchMapping("/{id}")
@@ -1,15 +1,24 @@
 package ua.markiyan.sonara.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
-import ua.markiyan.sonara.security.JwtUtil;
-import ua.markiyan.sonara.service.UserService;
+import ua.markiyan.sonara.dto.request.RefreshRequest;
+import ua.markiyan.sonara.dto.response.AuthResponse;
+import ua.markiyan.sonara.security.AuthUser;
+import ua.markiyan.sonara.security.LoginThrottle;
+import ua.markiyan.sonara.security.PasswordHashing;
+import ua.markiyan.sonara.security.UserDetailsServiceImpl;
+import ua.markiyan.sonara.service.AuthTokenService;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -17,20 +26,49 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthenticationManager authManager;
-    private final JwtUtil jwtUtil;
-    private final UserService userService;
+    private final AuthTokenService tokens;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final PasswordHashing hashing;
+    private final LoginThrottle throttle;
 
+    /**
+     * Throttled on the request thread (429), then authenticated on the hashing pool (503 when it is full);
+     * the request thread is released while BCrypt runs.
+     */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@RequestBody Map<String, String> req) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody Map<String, String> req,
+                                                                 HttpServletRequest request) {
+        String email = req.get("email");
+        String password = req.get("password");
+        throttle.checkAttempt(request.getRemoteAddr(), email);
+        return hashing.submit(() -> {
+            try {
+                authManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+                // snapshot was just cached by the authentication above, no extra query
+                AuthUser user = userDetailsService.loadSnapshot(email);
+                return ResponseEntity.ok(tokens.issue(user));
+            } catch (AuthenticationException ex) {
+                throttle.failed(email);
+                return ResponseEntity.status(401).build();
+            }
+        });
+    }
+
+    /** Rotates the refresh token: the one sent becomes unusable, a reused one ends the whole session. */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest req) {
         try {
-            String email = req.get("email");
-            String password = req.get("password");
-            authManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
-            var user = userService.findByEmail(email);
-            String token = jwtUtil.generateToken(user.email(), Map.of("userId", user.id()));
-            return ResponseEntity.ok(Map.of("token", token));
+            return ResponseEntity.ok(tokens.refresh(req.refreshToken()));
         } catch (AuthenticationException ex) {
             return ResponseEntity.status(401).build();
         }
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest req,
+                                       @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        tokens.logout(req.refreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
 }
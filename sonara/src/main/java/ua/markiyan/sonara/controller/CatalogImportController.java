@@ -0,0 +1,29 @@
+package ua.markiyan.sonara.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.markiyan.sonara.dto.response.ImportReport;
+import ua.markiyan.sonara.service.CatalogImportService;
+
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/artists/{artistId}/import")
+public class CatalogImportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final CatalogImportService service;
+
+    /**
+     * Bulk track import, one JSON object per line:
+     * {@code {"albumTitle":"..","albumReleaseDate":"2024-01-31","title":"..","durationSec":200,"audioKey":"..","explicitFlag":false}}.
+     * The body is read as a stream; bad rows are reported, the rest are imported.
+     */
+    @PostMapping(consumes = NDJSON)
+    public ResponseEntity<ImportReport> importTracks(@PathVariable Long artistId, InputStream body) {
+        return ResponseEntity.ok(service.importTracks(artistId, body));
+    }
+}
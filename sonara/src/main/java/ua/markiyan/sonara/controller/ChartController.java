@@ -0,0 +1,29 @@
+package ua.markiyan.sonara.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import ua.markiyan.sonara.dto.response.ChartResponse;
+import ua.markiyan.sonara.service.ChartService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/charts")
+public class ChartController {
+
+    private final ChartService service;
+
+    @GetMapping("/global")
+    public ChartResponse global(@RequestParam(defaultValue = "50") int limit) {
+        return service.global(limit);
+    }
+
+    @GetMapping("/countries/{country}")
+    public ChartResponse country(@PathVariable String country, @RequestParam(defaultValue = "50") int limit) {
+        return service.country(country, limit);
+    }
+
+    @GetMapping("/artists/{artistId}")
+    public ChartResponse artist(@PathVariable Long artistId, @RequestParam(defaultValue = "50") int limit) {
+        return service.artist(artistId, limit);
+    }
+}
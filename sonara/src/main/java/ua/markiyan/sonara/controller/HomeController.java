@@ -0,0 +1,19 @@
+package ua.markiyan.sonara.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import ua.markiyan.sonara.dto.response.HomeResponse;
+import ua.markiyan.sonara.service.HomeService;
+
+@RestController
+@RequiredArgsConstructor
+public class HomeController {
+
+    private final HomeService service;
+
+    /** 404 for an unknown user; 503 with {@code Retry-After} when the parts do not arrive within {@code app.home.timeout}. */
+    @GetMapping("/api/users/{userId}/home")
+    public HomeResponse home(@PathVariable Long userId) {
+        return service.home(userId);
+    }
+}
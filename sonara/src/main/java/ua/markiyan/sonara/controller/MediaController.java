@@ -0,0 +1,51 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+import ua.markiyan.sonara.exception.ForbiddenException;
+import ua.markiyan.sonara.exception.NotFoundException;
+import ua.markiyan.sonara.media.AudioStreamer;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+import ua.markiyan.sonara.media.LocalAudioStorage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Target of the URLs the local backend emits ({@code app.media.local.base-url=/media/}): checks
+ * {@code exp}/{@code sig} when signing is on, then serves the file like the stream endpoint.
+ * Open without a token - audio players fetch these URLs directly, the signature is the credential.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.media.backend", havingValue = "local")
+public class MediaController {
+
+    static final String PREFIX = "/media/";
+
+    private final LocalAudioStorage storage;
+    private final AudioUrlResolver audioUrls;
+    private final AudioStreamer streamer;
+
+    @GetMapping(PREFIX + "**")
+    public void media(@RequestParam(required = false) Long exp,
+                      @RequestParam(required = false) String sig,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        String path = UriUtils.decode(
+                request.getRequestURI().substring(request.getContextPath().length() + PREFIX.length()),
+                StandardCharsets.UTF_8);
+        if (!audioUrls.verify(path, exp == null ? 0 : exp, sig)) {
+            throw new ForbiddenException("Invalid or expired media URL");
+        }
+        Path file = storage.file(path).orElseThrow(() -> new NotFoundException("Media %s not found".formatted(path)));
+        streamer.stream(file, request, response);
+    }
+}
@@ -0,0 +1,22 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.markiyan.sonara.dto.request.PlayEventRequest;
+import ua.markiyan.sonara.service.PlayEventService;
+
+@RestController
+@RequiredArgsConstructor
+public class PlayEventController {
+
+    private final PlayEventService service;
+
+    /** 202 once the event is queued; 429 with {@code Retry-After} when the buffer is full. */
+    @PostMapping("/api/users/{userId}/plays")
+    public ResponseEntity<Void> record(@PathVariable Long userId, @Valid @RequestBody PlayEventRequest req) {
+        service.record(userId, req);
+        return ResponseEntity.accepted().build();
+    }
+}
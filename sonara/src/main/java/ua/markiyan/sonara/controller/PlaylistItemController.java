@@ -4,11 +4,19 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.*;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.markiyan.sonara.dto.request.PlaylistItemBulkRequest;
+import ua.markiyan.sonara.dto.request.PlaylistItemMoveRequest;
 import ua.markiyan.sonara.dto.request.PlaylistItemRequest;
 import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
+import ua.markiyan.sonara.export.ExportFormat;
 import ua.markiyan.sonara.hateoas.PlaylistItemModelAssembler;
+import ua.markiyan.sonara.service.ExportService;
 import ua.markiyan.sonara.service.PlaylistItemService;
 
 import java.util.List;
@@ -21,6 +29,7 @@ public class PlaylistItemController {
 
     private final PlaylistItemService service;
     private final PlaylistItemModelAssembler assembler;
+    private final ExportService exportService;
 
     @GetMapping
     public CollectionModel<EntityModel<PlaylistItemResponse>> list(@PathVariable Long playlistId) {
@@ -29,12 +38,36 @@ public class PlaylistItemController {
         return CollectionModel.of(models, WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(PlaylistItemController.class).list(playlistId)).withSelfRel());
     }
 
+    /** Streams the whole playlist as {@code ndjson}, {@code m3u} or {@code jspf}. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long playlistId, @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat f = ExportFormat.of(format);
+        StreamingResponseBody body = exportService.exportPlaylist(playlistId, f);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("playlist-" + playlistId + "." + f.extension()).build().toString())
+                .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<EntityModel<PlaylistItemResponse>> create(@PathVariable Long playlistId, @Valid @RequestBody PlaylistItemRequest req) {
         PlaylistItemResponse created = service.create(playlistId, req);
         return ResponseEntity.status(201).body(assembler.toModel(created));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<CollectionModel<EntityModel<PlaylistItemResponse>>> addTracks(@PathVariable Long playlistId, @Valid @RequestBody PlaylistItemBulkRequest req) {
+        var models = service.addTracks(playlistId, req.trackIds()).stream().map(assembler::toModel).collect(Collectors.toList());
+        return ResponseEntity.status(201).body(CollectionModel.of(models));
+    }
+
+    @PostMapping("/albums/{albumId}")
+    public ResponseEntity<CollectionModel<EntityModel<PlaylistItemResponse>>> addAlbum(@PathVariable Long playlistId, @PathVariable Long albumId) {
+        var models = service.addAlbum(playlistId, albumId).stream().map(assembler::toModel).collect(Collectors.toList());
+        return ResponseEntity.status(201).body(CollectionModel.of(models));
+    }
+
     @GetMapping("/{itemId}")
     public EntityModel<PlaylistItemResponse> get(@PathVariable Long playlistId, @PathVariable Long itemId) {
         return assembler.toModel(service.get(playlistId, itemId));
@@ -56,4 +89,10 @@ public class PlaylistItemController {
         service.reorder(playlistId, itemIds);
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/move")
+    public CollectionModel<EntityModel<PlaylistItemResponse>> move(@PathVariable Long playlistId, @Valid @RequestBody PlaylistItemMoveRequest req) {
+        var models = service.move(playlistId, req).stream().map(assembler::toModel).collect(Collectors.toList());
+        return CollectionModel.of(models);
+    }
 }
@@ -0,0 +1,21 @@
+package ua.markiyan.sonara.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import ua.markiyan.sonara.dto.response.RecentPlayResponse;
+import ua.markiyan.sonara.service.RecentPlayService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class RecentPlayController {
+
+    private final RecentPlayService service;
+
+    /** Newest first, one entry per track; written plays show up within the play writer's poll interval. */
+    @GetMapping("/api/users/{userId}/recent")
+    public List<RecentPlayResponse> recent(@PathVariable Long userId, @RequestParam(defaultValue = "20") int limit) {
+        return service.recent(userId, limit);
+    }
+}
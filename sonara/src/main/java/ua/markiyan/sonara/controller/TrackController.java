@@ -3,24 +3,48 @@ package ua.markiyan.sonara.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.web.SlicedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.*;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ua.markiyan.sonara.dto.request.TrackFilter;
 import ua.markiyan.sonara.dto.request.TrackRequest;
 import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.hateoas.ConditionalResponses;
+import ua.markiyan.sonara.hateoas.CursorCodec;
+import ua.markiyan.sonara.hateoas.CursorResourcesAssembler;
 import ua.markiyan.sonara.hateoas.TrackModelAssembler;
+import ua.markiyan.sonara.media.AudioUrlResolver;
 import ua.markiyan.sonara.service.TrackService;
 
+import java.time.LocalDate;
+import java.util.Set;
+
+import static ua.markiyan.sonara.hateoas.ConditionalResponses.strongETag;
+import static ua.markiyan.sonara.hateoas.ConditionalResponses.weakETag;
+
 @RestController
 @RequestMapping("/api/tracks")
 @RequiredArgsConstructor
 public class TrackController {
 
+    private static final Set<String> SCROLL_SORT = Set.of("title", "durationSec");
+
     private final TrackService trackService;
     private final TrackModelAssembler assembler;
     private final PagedResourcesAssembler<TrackResponse> pagedAssembler;
+    private final SlicedResourcesAssembler<TrackResponse> slicedAssembler;
+    private final CursorResourcesAssembler cursorAssembler;
+    private final CursorCodec cursorCodec;
+    private final ConditionalResponses conditional;
+    private final AudioUrlResolver audioUrls;
 
     @PostMapping
     public ResponseEntity<EntityModel<TrackResponse>> create(@Valid @RequestBody TrackRequest  req) {
@@ -28,21 +52,61 @@ public class TrackController {
         return ResponseEntity.status(HttpStatus.CREATED).body(assembler.toModel(created));
     }
 
+    /**
+     * Conditional: the ETag is the row version plus the signed-URL epoch, so a 304 is never served
+     * for a body whose playback URLs have rotated. Last-Modified only describes unsigned bodies.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<TrackResponse>> get(@PathVariable Long id) {
+    public ResponseEntity<EntityModel<TrackResponse>> get(@PathVariable Long id, WebRequest request) {
         TrackResponse dto = trackService.get(id);
-        return ResponseEntity.ok(assembler.toModel(dto));
+        return conditional.entity(request, strongETag("t" + id, dto.version(), audioUrls.urlEpoch()),
+                audioUrls.isSigning() ? null : dto.updatedAt(), () -> assembler.toModel(dto));
     }
 
+    /**
+     * Search with any combination of filters. {@code withTotal=false} skips the count query
+     * and returns a sliced model (only a {@code next} link, no totals). Pages carry a weak ETag.
+     */
     @GetMapping
-    public PagedModel<EntityModel<TrackResponse>> search(
+    public ResponseEntity<RepresentationModel<?>> search(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) Integer durationSec,
+            @RequestParam(required = false) Integer minDurationSec,
+            @RequestParam(required = false) Integer maxDurationSec,
             @RequestParam(required = false) Boolean explicitFlag,
-            Pageable pageable
+            @RequestParam(required = false) Long albumId,
+            @RequestParam(required = false) Long artistId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedTo,
+            @RequestParam(required = false) Boolean withTotal,
+            Pageable pageable,
+            WebRequest request
     ) {
-        Page<TrackResponse> page = trackService.search(title, durationSec, explicitFlag, pageable);
-        return pagedAssembler.toModel(page, assembler);
+        TrackFilter filter = new TrackFilter(title, durationSec, minDurationSec, maxDurationSec, explicitFlag,
+                albumId, artistId, releasedFrom, releasedTo);
+        if (Boolean.FALSE.equals(withTotal)) {
+            Slice<TrackResponse> slice = trackService.searchSlice(filter, pageable);
+            return conditional.page(request, weakETag(slice.getContent(), TrackResponse::id, TrackResponse::version,
+                            slice.hasNext() ? 1 : 0, audioUrls.urlEpoch()),
+                    () -> slicedAssembler.toModel(slice, assembler));
+        }
+        Page<TrackResponse> page = trackService.search(filter, pageable);
+        return conditional.page(request, weakETag(page.getContent(), TrackResponse::id, TrackResponse::version,
+                        page.getTotalElements(), audioUrls.urlEpoch()),
+                () -> pagedAssembler.toModel(page, assembler));
+    }
+
+    /**
+     * Cursor (keyset) mode for infinite scroll: follow the {@code next} link, which carries
+     * an opaque {@code after} token. Cost per page does not grow with depth and there is no COUNT(*).
+     */
+    @GetMapping("/scroll")
+    public CollectionModel<EntityModel<TrackResponse>> scroll(TrackFilter filter,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              Sort sort) {
+        var position = cursorCodec.decode(after, sort, Track.class, SCROLL_SORT);
+        return cursorAssembler.toModel(trackService.scroll(filter, position, Math.clamp(size, 1, 100), sort), assembler);
     }
 
     @PatchMapping("/{id}")
@@ -0,0 +1,54 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ua.markiyan.sonara.exception.NotFoundException;
+import ua.markiyan.sonara.media.AudioQuality;
+import ua.markiyan.sonara.media.AudioStreamer;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+import ua.markiyan.sonara.media.LocalAudioStorage;
+import ua.markiyan.sonara.service.TrackService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Audio bytes of a track. With {@code app.media.backend=local} the file is served by Sonara itself
+ * (range requests, see {@link AudioStreamer}); with a CDN backend the client is redirected
+ * to the (signed) CDN URL.
+ */
+@RestController
+@RequestMapping("/api/tracks")
+@RequiredArgsConstructor
+public class TrackStreamController {
+
+    private final TrackService trackService;
+    private final AudioStreamer streamer;
+    private final AudioUrlResolver audioUrls;
+    private final ObjectProvider<LocalAudioStorage> localStorage;
+
+    @GetMapping("/{id}/stream")
+    public void stream(@PathVariable Long id,
+                       @RequestParam(defaultValue = "normal") String quality,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        AudioQuality q = AudioQuality.of(quality);
+        String audioKey = trackService.getAudioKey(id);
+
+        LocalAudioStorage storage = localStorage.getIfAvailable();
+        if (storage == null) {
+            response.sendRedirect(audioUrls.url(audioKey, q));
+            return;
+        }
+        Path file = storage.file(q.path(audioKey))
+                .orElseThrow(() -> new NotFoundException("Audio file not found for track %d (%s)".formatted(id, q)));
+        streamer.stream(file, request, response);
+    }
+}
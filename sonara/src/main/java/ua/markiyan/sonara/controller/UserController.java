@@ -8,17 +8,27 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import ua.markiyan.sonara.dto.request.UserRequest;
 import ua.markiyan.sonara.dto.response.UserResponse;
+import ua.markiyan.sonara.entity.User;
+import ua.markiyan.sonara.hateoas.CursorCodec;
+import ua.markiyan.sonara.hateoas.CursorResourcesAssembler;
 import ua.markiyan.sonara.hateoas.UserModelAssembler;
 import ua.markiyan.sonara.service.UserService;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    // ключі сортування їдуть у токен after відкритим текстом: passwordHash тут бути не може
+    private static final Set<String> SCROLL_SORT = Set.of("name", "email", "createdAt");
+
     private final UserService service;
     private final UserModelAssembler assembler;
     private final PagedResourcesAssembler<UserResponse> pagedAssembler;
+    private final CursorResourcesAssembler cursorAssembler;
+    private final CursorCodec cursorCodec;
 
     @PostMapping
     public ResponseEntity<EntityModel<UserResponse>> create(@Valid @RequestBody UserRequest req) {
@@ -41,6 +51,18 @@ public class UserController {
         return pagedAssembler.toModel(page, assembler);
     }
 
+    // keyset-режим: next-посилання несе непрозорий токен after
+    @GetMapping("/scroll")
+    public CollectionModel<EntityModel<UserResponse>> scroll(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            org.springframework.data.domain.Sort sort
+    ) {
+        var position = cursorCodec.decode(after, sort, User.class, SCROLL_SORT);
+        return cursorAssembler.toModel(service.scroll(q, position, Math.clamp(size, 1, 100), sort), assembler);
+    }
+
     @PatchMapping("/{id}")
     public EntityModel<UserResponse> patch(@PathVariable Long id, @RequestBody ua.markiyan.sonara.dto.request.UserUpdateRequest req) {
         return assembler.toModel(service.update(id, req));
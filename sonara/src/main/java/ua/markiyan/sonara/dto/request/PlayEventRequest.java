@@ -0,0 +1,14 @@
+package ua.markiyan.sonara.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import ua.markiyan.sonara.entity.PlayEvent;
+
+import java.time.LocalDateTime;
+
+public record PlayEventRequest(
+        @NotNull Long trackId,
+        @NotNull PlayEvent.Type type,
+        @PositiveOrZero Integer positionSec,
+        LocalDateTime occurredAt // null — час прийому
+) {}
@@ -0,0 +1,14 @@
+package ua.markiyan.sonara.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Tracks appended to the end of a playlist, in the given order. Repeated ids are added repeatedly.
+ */
+public record PlaylistItemBulkRequest(
+        @NotEmpty @Size(max = 1000) List<@NotNull Long> trackIds
+) {}
@@ -0,0 +1,18 @@
+package ua.markiyan.sonara.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Moves {@code count} consecutive items starting at index {@code from} so that the first
+ * of them ends up at index {@code to}. Indexes are 0-based, in the current playlist order.
+ */
+public record PlaylistItemMoveRequest(
+        @NotNull @Min(0) Integer from,
+        @NotNull @Min(0) Integer to,
+        @Min(1) Integer count
+) {
+    public int countOrOne() {
+        return count == null ? 1 : count;
+    }
+}
@@ -1,9 +1,10 @@
 package ua.markiyan.sonara.dto.request;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 public record PlaylistItemRequest(
         @NotNull Long trackId,
-        Integer position
+        @Positive Integer position // null — в кінець плейлиста
 ) {}
 
@@ -0,0 +1,5 @@
+package ua.markiyan.sonara.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequest(@NotBlank String refreshToken) {}
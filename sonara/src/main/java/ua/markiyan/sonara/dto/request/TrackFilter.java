@@ -0,0 +1,32 @@
+package ua.markiyan.sonara.dto.request;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional track search filters; {@code null} means "not filtered".
+ * Release dates are taken from the track's album.
+ */
+public record TrackFilter(
+        String title,
+        Integer durationSec,
+        Integer minDurationSec,
+        Integer maxDurationSec,
+        Boolean explicitFlag,
+        Long albumId,
+        Long artistId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedTo
+) {
+    public boolean hasTitle() {
+        return title != null && !title.isBlank();
+    }
+
+    /** Only the title is set - the search-box case. */
+    public boolean isTitleOnly() {
+        return hasTitle() && durationSec == null && minDurationSec == null && maxDurationSec == null
+                && explicitFlag == null && albumId == null && artistId == null
+                && releasedFrom == null && releasedTo == null;
+    }
+}
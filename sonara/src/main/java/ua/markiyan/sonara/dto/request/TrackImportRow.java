@@ -0,0 +1,18 @@
+package ua.markiyan.sonara.dto.request;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+/**
+ * One NDJSON line of a catalog import: the track plus the album it belongs to
+ * (albums are matched by title within the artist, missing ones are created).
+ */
+public record TrackImportRow(
+        @NotBlank @Size(max = 255) String albumTitle,
+        LocalDate albumReleaseDate,
+        @NotBlank @Size(max = 255) String title,
+        @NotNull @Min(1) @Max(9999) Integer durationSec,
+        @NotBlank @Size(min = 2, max = 100) String audioKey,
+        @NotNull Boolean explicitFlag
+) {}
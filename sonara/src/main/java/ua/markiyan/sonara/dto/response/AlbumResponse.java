@@ -1,5 +1,8 @@
 package ua.markiyan.sonara.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
 import java.time.LocalDate;
 
 public record AlbumResponse(
@@ -7,5 +10,7 @@ public record AlbumResponse(
         String title,
         LocalDate releaseDate,
         String coverUrl,
-        Long artistId
-) {}
+        Long artistId,
+        @JsonIgnore long version,
+        @JsonIgnore Instant updatedAt
+) implements Versioned {}
@@ -1,11 +1,15 @@
 package ua.markiyan.sonara.dto.response;
 
-import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
 
 public record ArtistResponse (
         Long id,
         String name,
         String country,
         Integer startYear,
-        String bio
-){}
+        String bio,
+        @JsonIgnore long version,
+        @JsonIgnore Instant updatedAt
+) implements Versioned {}
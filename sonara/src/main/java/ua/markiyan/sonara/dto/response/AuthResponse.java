@@ -1,4 +1,4 @@
 package ua.markiyan.sonara.dto.response;
 
-public record AuthResponse(String token) {}
-
+// token — короткоживучий access token; expiresIn — його час життя в секундах
+public record AuthResponse(String token, String refreshToken, long expiresIn) {}
@@ -0,0 +1,10 @@
+package ua.markiyan.sonara.dto.response;
+
+public record ChartEntryResponse(
+        int rank,
+        Long trackId,
+        String title,
+        Long artistId,
+        String artist,
+        long plays
+) {}
@@ -0,0 +1,14 @@
+package ua.markiyan.sonara.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One chart as of the last refresh; {@code refreshedAt} is null until the first refresh.
+ */
+public record ChartResponse(
+        String chart,
+        int windowDays,
+        LocalDateTime refreshedAt,
+        List<ChartEntryResponse> entries
+) {}
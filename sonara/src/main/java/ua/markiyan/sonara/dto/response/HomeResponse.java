@@ -0,0 +1,28 @@
+package ua.markiyan.sonara.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the home screen needs in one body. {@code subscription} is the current plan
+ * (active or trial first, else the latest one) or null; playlists carry only the first few items.
+ */
+public record HomeResponse(
+        Long userId,
+        SubscriptionResponse subscription,
+        List<PlaylistPreview> playlists,
+        List<RecentTrack> recent
+) {
+
+    public record PlaylistPreview(
+            PlaylistResponse playlist,
+            int itemCount,
+            List<PlaylistItemResponse> items
+    ) {}
+
+    public record RecentTrack(
+            TrackResponse track,
+            int positionSec,
+            LocalDateTime playedAt
+    ) {}
+}
@@ -0,0 +1,13 @@
+package ua.markiyan.sonara.dto.response;
+
+import java.util.List;
+
+public record ImportReport(
+        int received,
+        int imported,
+        int failed,
+        int albumsCreated,
+        List<RowError> errors   // перші N помилок, номер рядка — з 1
+) {
+    public record RowError(int line, String error) {}
+}
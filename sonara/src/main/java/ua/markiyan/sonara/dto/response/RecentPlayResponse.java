@@ -0,0 +1,12 @@
+package ua.markiyan.sonara.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * One "recently played" entry; {@code positionSec} is where playback last stopped ("continue listening").
+ */
+public record RecentPlayResponse(
+        Long trackId,
+        int positionSec,
+        LocalDateTime playedAt
+) {}
@@ -0,0 +1,16 @@
+package ua.markiyan.sonara.dto.response;
+
+/**
+ * Flat row of a playlist/album export, read straight from the DB cursor.
+ * The playback URL is derived from {@code audioKey} while writing.
+ */
+public record TrackExportRow(
+        Integer position,
+        Long trackId,
+        String title,
+        String artist,
+        String album,
+        Integer durationSec,
+        String audioKey,
+        boolean explicitFlag
+) {}
@@ -1,11 +1,17 @@
 package ua.markiyan.sonara.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
 public record TrackResponse (
         Long id,
         String title,
         Integer durationSec,
         String audioKey,
         boolean explicitFlag,
-        String audioUrl
+        String audioUrl,
+        @JsonIgnore long version,      // валідатори для ETag / Last-Modified, не частина тіла
+        @JsonIgnore Instant updatedAt
         // TODO: Album & Artist
-){}
+) implements Versioned {}
@@ -0,0 +1,7 @@
+package ua.markiyan.sonara.dto.response;
+
+/** A response carrying the entity's optimistic-lock version (the ETag validator). */
+public interface Versioned {
+
+    long version();
+}
@@ -1,9 +1,13 @@
 package ua.markiyan.sonara.entity;
 
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Getter
 @Setter
@@ -12,6 +16,8 @@ import lombok.*;
 @Builder
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(
         name = "Album",
         indexes = @Index(name = "idx_album_artist", columnList = "artist_id")
@@ -37,5 +43,13 @@ public class Album {
 
     @OneToMany(mappedBy = "album", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Track> tracks;
-}
 
+    // ETag / Last-Modified для умовних GET; default 0 — для рядків, вставлених JDBC-імпортом
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -2,8 +2,12 @@ package ua.markiyan.sonara.entity;
 
 
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.util.List;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Getter
 @Setter
@@ -12,6 +16,8 @@ import lombok.*;
 @Builder
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "Artist")
 public class Artist {
 
@@ -34,5 +40,12 @@ public class Artist {
     @OneToMany(mappedBy = "artist", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Album> albums;
 
-}
+    // ETag / Last-Modified для умовних GET; default 0 — ddl-auto=update додає NOT NULL колонку до наявних рядків
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
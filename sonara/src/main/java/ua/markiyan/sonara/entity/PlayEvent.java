@@ -0,0 +1,51 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(
+        name = "PlayEvent",
+        indexes = {
+                @Index(name = "idx_play_track_time", columnList = "track_id, occurred_at"),
+                @Index(name = "idx_play_user_time", columnList = "user_id, occurred_at")
+        }
+)
+public class PlayEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // без FK: історія прослуховувань (роялті) переживає видалення юзера/трека,
+    // посилання перевіряються при вставці батчем
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "track_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Track track;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Type type;
+
+    // секунда треку, на якій сталася подія
+    @Column(name = "position_sec")
+    private Integer positionSec;
+
+    @Column(name = "occurred_at", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        START, END
+    }
+}
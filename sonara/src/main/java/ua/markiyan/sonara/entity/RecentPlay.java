@@ -0,0 +1,45 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * Persisted copy of a user's "recently played" ring: one row per (user, track), last position and time.
+ * Written behind by {@code RecentlyPlayedStore} and only read to warm a user's ring after a restart or eviction.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(
+        name = "RecentPlay",
+        uniqueConstraints = @UniqueConstraint(name = "uq_recent_user_track", columnNames = {"user_id", "track_id"}),
+        indexes = {
+                @Index(name = "idx_recent_user_time", columnList = "user_id, played_at")
+        }
+)
+public class RecentPlay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // без FK, як у PlayEvent: рядки юзера чистить UserService.delete, посилання перевіряються при записі
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "track_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Track track;
+
+    @Column(name = "position_sec", nullable = false)
+    private int positionSec;
+
+    @Column(name = "played_at", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime playedAt;
+}
@@ -0,0 +1,49 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * Server side of a refresh token: only the SHA-256 of the token is stored. Every refresh rotates
+ * the token within its family; presenting an already rotated token revokes the whole family.
+ * {@code user_id} is a plain column, so deleting a user is not blocked by their sessions.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(
+        name = "RefreshToken",
+        uniqueConstraints = @UniqueConstraint(name = "uq_refresh_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_expires", columnList = "expires_at")
+        }
+)
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // ставиться при ротації або відкликанні; після цього токен більше не приймається
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+}
@@ -0,0 +1,27 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * Access token revoked before its {@code exp} (logout), by {@code jti}. Rows are only needed until
+ * the token would have expired anyway; the in-memory revocation list is synced from this table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "RevokedToken", indexes = @Index(name = "idx_revoked_expires", columnList = "expires_at"))
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
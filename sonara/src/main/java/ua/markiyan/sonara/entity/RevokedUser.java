@@ -0,0 +1,28 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * User whose access tokens must stop working although they no longer have a {@code users} row
+ * (deleted). Kept until every access token issued before the deletion has expired; the in-memory
+ * revocation list is synced from this table next to the non-active users.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "RevokedUser", indexes = @Index(name = "idx_revoked_user_expires", columnList = "expires_at"))
+public class RevokedUser {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
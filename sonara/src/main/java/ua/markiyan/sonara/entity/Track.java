@@ -2,6 +2,11 @@ package ua.markiyan.sonara.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Getter
 @Setter
@@ -10,6 +15,8 @@ import lombok.*;
 @Builder
 
 @Entity
+@Cacheable // second-level cache, active only with the "l2cache" profile
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(
         name = "Track",
         indexes = {
@@ -45,5 +52,13 @@ public class Track {
 
     @Column(name = "audio_url", nullable = false)
     private String audioUrl;
-}
 
+    // ETag / Last-Modified для умовних GET; default 0 — для рядків, вставлених JDBC-імпортом
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,49 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * Play counts per track, listener country and day; source of the top charts.
+ * Track dimensions are copied in, so charts group without joins; ids are plain columns, not FKs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(
+        name = "TrackPlayDaily",
+        uniqueConstraints = @UniqueConstraint(name = "uq_tpd_bucket", columnNames = {"play_date", "track_id", "country"}),
+        indexes = {
+                @Index(name = "idx_tpd_artist", columnList = "artist_id, play_date")
+        }
+)
+public class TrackPlayDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "play_date", nullable = false, columnDefinition = "DATE")
+    private LocalDate playDate;
+
+    @Column(name = "track_id", nullable = false)
+    private Long trackId;
+
+    @Column(name = "artist_id", nullable = false)
+    private Long artistId;
+
+    @Column(name = "album_id", nullable = false)
+    private Long albumId;
+
+    // "" — країна невідома
+    @Column(nullable = false, length = 64)
+    private String country;
+
+    @Column(nullable = false)
+    private long plays;
+}
@@ -0,0 +1,49 @@
+package ua.markiyan.sonara.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * Play counts per track, listener country and hour; rolled up from in-memory counters by {@code ChartAccumulator}.
+ * Track dimensions are copied in, so charts group without joins; ids are plain columns, not FKs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(
+        name = "TrackPlayHourly",
+        uniqueConstraints = @UniqueConstraint(name = "uq_tph_bucket", columnNames = {"bucket_start", "track_id", "country"}),
+        indexes = {
+                @Index(name = "idx_tph_artist", columnList = "artist_id, bucket_start")
+        }
+)
+public class TrackPlayHourly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "track_id", nullable = false)
+    private Long trackId;
+
+    @Column(name = "artist_id", nullable = false)
+    private Long artistId;
+
+    @Column(name = "album_id", nullable = false)
+    private Long albumId;
+
+    // "" — країна невідома
+    @Column(nullable = false, length = 64)
+    private String country;
+
+    @Column(nullable = false)
+    private long plays;
+}
@@ -0,0 +1,5 @@
+package ua.markiyan.sonara.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String msg) { super(msg); }
+}
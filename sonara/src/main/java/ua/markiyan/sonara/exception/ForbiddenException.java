@@ -0,0 +1,5 @@
+package ua.markiyan.sonara.exception;
+
+public class ForbiddenException extends RuntimeException {
+    public ForbiddenException(String msg) { super(msg); }
+}
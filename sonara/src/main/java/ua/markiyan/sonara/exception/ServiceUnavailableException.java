@@ -0,0 +1,5 @@
+package ua.markiyan.sonara.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String msg) { super(msg); }
+}
@@ -0,0 +1,5 @@
+package ua.markiyan.sonara.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String msg) { super(msg); }
+}
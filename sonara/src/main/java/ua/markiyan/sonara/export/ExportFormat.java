@@ -0,0 +1,35 @@
+package ua.markiyan.sonara.export;
+
+import ua.markiyan.sonara.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    M3U("audio/x-mpegurl", "m3u"),
+    JSPF("application/jspf+json", "jspf");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Parses the {@code format} request parameter, case-insensitive. */
+    public static ExportFormat of(String value) {
+        for (ExportFormat f : values()) {
+            if (f.extension.equals(value.toLowerCase(Locale.ROOT))) return f;
+        }
+        throw new BadRequestException("Unsupported export format '%s', expected ndjson, m3u or jspf".formatted(value));
+    }
+}
@@ -0,0 +1,135 @@
+package ua.markiyan.sonara.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import ua.markiyan.sonara.dto.response.TrackExportRow;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes export rows one by one as they come from the cursor; nothing is collected in memory.
+ * JSON formats go through Jackson's streaming {@link JsonGenerator}, M3U is plain text.
+ */
+@Component
+public class TrackExportWriter {
+
+    private final JsonFactory jsonFactory;
+    private final AudioUrlResolver audioUrls;
+
+    public TrackExportWriter(ObjectMapper objectMapper, AudioUrlResolver audioUrls) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.audioUrls = audioUrls;
+    }
+
+    /** @return number of rows written */
+    public long write(ExportFormat format, String title, Stream<TrackExportRow> rows, OutputStream out) {
+        try {
+            return switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+                case M3U -> writeM3u(title, rows.iterator(), out);
+                case JSPF -> writeJspf(title, rows.iterator(), out);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export write failed", e);
+        }
+    }
+
+    private long writeNdjson(Iterator<TrackExportRow> rows, OutputStream out) throws IOException {
+        long n = 0;
+        try (JsonGenerator gen = generator(out)) {
+            while (rows.hasNext()) {
+                TrackExportRow r = rows.next();
+                gen.writeStartObject();
+                if (r.position() != null) gen.writeNumberField("position", r.position());
+                gen.writeNumberField("trackId", r.trackId());
+                gen.writeStringField("title", r.title());
+                gen.writeStringField("artist", r.artist());
+                gen.writeStringField("album", r.album());
+                gen.writeNumberField("durationSec", r.durationSec());
+                gen.writeStringField("audioUrl", audioUrls.url(r.audioKey()));
+                gen.writeBooleanField("explicitFlag", r.explicitFlag());
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /** Extended M3U: {@code #EXTINF:<seconds>,<artist> - <title>} followed by the URL. */
+    private long writeM3u(String title, Iterator<TrackExportRow> rows, OutputStream out) throws IOException {
+        long n = 0;
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        w.write("#EXTM3U\n");
+        w.write("#PLAYLIST:");
+        w.write(oneLine(title));
+        w.write('\n');
+        while (rows.hasNext()) {
+            TrackExportRow r = rows.next();
+            w.write("#EXTINF:");
+            w.write(String.valueOf(r.durationSec()));
+            w.write(',');
+            w.write(oneLine(r.artist()));
+            w.write(" - ");
+            w.write(oneLine(r.title()));
+            w.write('\n');
+            w.write(String.valueOf(audioUrls.url(r.audioKey())));
+            w.write('\n');
+            n++;
+        }
+        w.flush();
+        return n;
+    }
+
+    /** JSPF (XSPF as JSON), see https://xspf.org/jspf. */
+    private long writeJspf(String title, Iterator<TrackExportRow> rows, OutputStream out) throws IOException {
+        long n = 0;
+        try (JsonGenerator gen = generator(out)) {
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("playlist");
+            gen.writeStringField("title", title);
+            gen.writeArrayFieldStart("track");
+            while (rows.hasNext()) {
+                TrackExportRow r = rows.next();
+                gen.writeStartObject();
+                gen.writeArrayFieldStart("location");
+                gen.writeString(audioUrls.url(r.audioKey()));
+                gen.writeEndArray();
+                gen.writeStringField("title", r.title());
+                gen.writeStringField("creator", r.artist());
+                gen.writeStringField("album", r.album());
+                gen.writeNumberField("duration", r.durationSec() * 1000L); // JSPF — мілісекунди
+                gen.writeEndObject();
+                n++;
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+        return n;
+    }
+
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        // потік відповіді закриває контейнер, генератор лише скидає буфер
+        JsonGenerator gen = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(null); // інакше Jackson ставить пробіл перед кожним наступним рядком NDJSON
+        return gen;
+    }
+
+    private static String oneLine(String s) {
+        return s == null ? "" : s.replace('\r', ' ').replace('\n', ' ');
+    }
+}
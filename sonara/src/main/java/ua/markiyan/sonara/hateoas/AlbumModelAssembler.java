@@ -1,23 +1,26 @@
 package ua.markiyan.sonara.hateoas;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.AlbumController;
 import ua.markiyan.sonara.dto.response.AlbumResponse;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class AlbumModelAssembler implements EntityModelAssembler<AlbumResponse> {
 
+    private static final LinkTemplate SELF = LinkTemplate.of(AlbumController.class, "get");
+    private static final LinkTemplate LIST = LinkTemplate.of(AlbumController.class, "search");
+    private static final LinkTemplate UPDATE = LinkTemplate.of(AlbumController.class, "patch");
+    private static final LinkTemplate DELETE = LinkTemplate.of(AlbumController.class, "delete");
+
     @Override
     public EntityModel<AlbumResponse> toModel(AlbumResponse album) {
         EntityModel<AlbumResponse> model = EntityModel.of(album);
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(AlbumController.class).get(album.id())).withSelfRel());
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(AlbumController.class).search(null, null, org.springframework.data.domain.Pageable.unpaged(), (org.springframework.data.web.PagedResourcesAssembler<AlbumResponse>) null)).withRel("albums"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(AlbumController.class).patch(album.id(), null)).withRel("update"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(AlbumController.class).delete(album.id())).withRel("delete"));
+        model.add(SELF.link(IanaLinkRelations.SELF, album.id()));
+        model.add(LIST.link("albums"));
+        model.add(UPDATE.link("update", album.id()));
+        model.add(DELETE.link("delete", album.id()));
         return model;
     }
 }
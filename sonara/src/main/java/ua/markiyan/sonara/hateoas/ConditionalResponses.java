@@ -0,0 +1,78 @@
+package ua.markiyan.sonara.hateoas;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Conditional GET for catalog reads. Validators are checked before the body is built, so a matching
+ * {@code If-None-Match} / {@code If-Modified-Since} costs the (usually cached) service call only:
+ * no assembly, no link building, no serialization.
+ * <p>
+ * {@code ETag} and {@code Last-Modified} are written by {@link WebRequest#checkNotModified}; the
+ * returned entity only adds {@code Cache-Control} ({@code private}: the catalog API needs a token).
+ */
+@Component
+public class ConditionalResponses {
+
+    private final CacheControl cacheControl;
+
+    public ConditionalResponses(@Value("${app.http.catalog-max-age:0s}") Duration maxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge.toSeconds(), TimeUnit.SECONDS).cachePrivate().mustRevalidate();
+    }
+
+    /** Single resource with a strong ETag; {@code lastModified} may be {@code null}. */
+    public <T> ResponseEntity<T> entity(WebRequest request, String etag, Instant lastModified, Supplier<T> body) {
+        long millis = lastModified != null ? lastModified.toEpochMilli() : -1;
+        if (request.checkNotModified(etag, millis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+    }
+
+    /** Search page with a weak ETag from {@link #weakETag}. */
+    public <T> ResponseEntity<T> page(WebRequest request, String etag, Supplier<T> body) {
+        return entity(request, etag, null, body);
+    }
+
+    /** {@code "<parts joined by .>"}, e.g. {@code "t42.3"} for track 42 at version 3. */
+    public static String strongETag(Object... parts) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append('.');
+            sb.append(parts[i]);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Weak ETag over the ids and versions of a page plus anything else the body depends on
+     * (total, has-next, URL epoch). Equal pages give equal tags; the bytes may still differ
+     * (e.g. link order), hence {@code W/}.
+     */
+    public static <T> String weakETag(Collection<T> content, ToLongFunction<T> id, ToLongFunction<T> version,
+                                      long... extra) {
+        long h = 0xcbf29ce484222325L; // FNV-1a offset basis, по 64-бітних словах
+        for (T item : content) {
+            h = mix(h, id.applyAsLong(item));
+            h = mix(h, version.applyAsLong(item));
+        }
+        h = mix(h, content.size());
+        for (long e : extra) h = mix(h, e);
+        return "W/\"%016x\"".formatted(h);
+    }
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001b3L;
+    }
+}
@@ -0,0 +1,104 @@
+package ua.markiyan.sonara.hateoas;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ua.markiyan.sonara.exception.BadRequestException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque {@code after} tokens for keyset pagination.
+ * A token is the base64url JSON of the last row's sort key values plus its id;
+ * on the way back values are converted to the entity attribute types.
+ * <p>
+ * Token values are readable by the client (base64 is not encryption), so every endpoint passes
+ * the properties it allows to sort by; anything else is a 400 rather than a leaked column.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+
+    private static final TypeReference<LinkedHashMap<String, String>> KEYS = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+        Map<String, String> keys = new LinkedHashMap<>();
+        keyset.getKeys().forEach((k, v) -> keys.put(k, v == null ? null : v.toString()));
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    /**
+     * @param sortable properties the endpoint allows in {@code sort} and in the token; {@code id} is always allowed
+     * @return position after the row the token points to, or the first position when token is empty
+     */
+    public ScrollPosition decode(String token, Sort sort, Class<?> entityType, Set<String> sortable) {
+        for (Sort.Order order : sort) {
+            if (!isSortable(order.getProperty(), sortable)) {
+                throw new BadRequestException("Cannot sort by '%s'".formatted(order.getProperty()));
+            }
+        }
+        if (token == null || token.isBlank()) return ScrollPosition.keyset();
+
+        Map<String, String> raw;
+        try {
+            raw = objectMapper.readValue(Base64.getUrlDecoder().decode(token), KEYS);
+        } catch (IllegalArgumentException | java.io.IOException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        for (Sort.Order order : sort) {
+            if (!raw.containsKey(order.getProperty())) {
+                throw new BadRequestException("Cursor does not match sort '%s'".formatted(order.getProperty()));
+            }
+        }
+
+        // підроблений токен не має тягнути в keyset-умову чужі колонки
+        if (!raw.keySet().stream().allMatch(k -> isSortable(k, sortable))) throw new BadRequestException("Malformed cursor");
+
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityType);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            raw.forEach((k, v) -> keys.put(k, convert(v, entity.getAttribute(k).getJavaType())));
+        } catch (RuntimeException e) {
+            // unknown attribute or a value that does not parse into the attribute type
+            throw new BadRequestException("Malformed cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static boolean isSortable(String property, Set<String> sortable) {
+        return "id".equals(property) || sortable.contains(property);
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        if (value == null) return null;
+        if (type == LocalDate.class) return LocalDate.parse(value);
+        if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+        if (type == Instant.class) return Instant.parse(value);
+        return DefaultConversionService.getSharedInstance().convert(value, type);
+    }
+}
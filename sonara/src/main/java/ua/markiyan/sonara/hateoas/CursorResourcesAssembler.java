@@ -0,0 +1,40 @@
+package ua.markiyan.sonara.hateoas;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Cursor-mode counterpart of {@code PagedResourcesAssembler}: wraps a keyset {@link Window}
+ * into a collection with {@code self} and, when there is more data, a {@code next} link
+ * carrying the opaque {@code after} token. No totals, so no COUNT(*).
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorResourcesAssembler {
+
+    private final CursorCodec cursorCodec;
+
+    public <T> CollectionModel<EntityModel<T>> toModel(Window<T> window,
+                                                       RepresentationModelAssembler<T, EntityModel<T>> assembler) {
+        var models = window.stream().map(assembler::toModel).toList();
+        CollectionModel<EntityModel<T>> model = CollectionModel.of(models,
+                Link.of(ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString()).withSelfRel());
+
+        if (window.hasNext() && !window.isEmpty()) {
+            String after = cursorCodec.encode(window.positionAt(window.size() - 1));
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", after)
+                    .build()
+                    .toUriString();
+            model.add(Link.of(next, IanaLinkRelations.NEXT));
+        }
+        return model;
+    }
+}
@@ -0,0 +1,155 @@
+package ua.markiyan.sonara.hateoas;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * URI template of one controller handler method, resolved once from its {@code @RequestMapping}
+ * annotations. Expanding it is plain string concatenation - no {@code methodOn} proxy per link.
+ * <p>
+ * Output matches {@code WebMvcLinkBuilder.linkTo(methodOn(...))} with {@code null} request params:
+ * {@code @RequestParam}s become a {@code {?a,b}} suffix and the link is templated.
+ * The base URI (scheme, host, context path) is taken from the current request once per request.
+ */
+public final class LinkTemplate {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{([^}/]+)}");
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+    // path split around variables: literals.length == variables + 1
+    private final String[] literals;
+    private final String querySuffix;
+
+    private LinkTemplate(String path, List<String> requestParams) {
+        List<String> parts = new ArrayList<>();
+        Matcher m = VARIABLE.matcher(path);
+        int last = 0;
+        while (m.find()) {
+            parts.add(path.substring(last, m.start()));
+            last = m.end();
+        }
+        parts.add(path.substring(last));
+        this.literals = parts.toArray(String[]::new);
+        this.querySuffix = requestParams.isEmpty() ? "" : "{?" + String.join(",", requestParams) + "}";
+    }
+
+    /**
+     * Resolves the template of {@code controller.methodName(..)}; the name must be unique among handler methods.
+     */
+    public static LinkTemplate of(Class<?> controller, String methodName) {
+        List<Method> candidates = Arrays.stream(controller.getMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .filter(m -> AnnotatedElementUtils.hasAnnotation(m, RequestMapping.class))
+                .toList();
+        if (candidates.size() != 1) {
+            throw new IllegalStateException("Expected one handler method %s.%s, found %d"
+                    .formatted(controller.getSimpleName(), methodName, candidates.size()));
+        }
+        Method method = candidates.get(0);
+
+        String path = join(firstPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class)),
+                firstPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class)));
+        return new LinkTemplate(path, requestParams(method));
+    }
+
+    public int variableCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * @param values path variables in the order they appear in the mapping
+     */
+    public Link link(LinkRelation rel, Object... values) {
+        return link(rel.value(), values);
+    }
+
+    public Link link(String rel, Object... values) {
+        if (values.length != variableCount()) {
+            throw new IllegalArgumentException("Template needs %d values, got %d".formatted(variableCount(), values.length));
+        }
+        StringBuilder href = new StringBuilder(96).append(currentBaseUri()).append(literals[0]);
+        for (int i = 0; i < values.length; i++) {
+            href.append(encode(values[i])).append(literals[i + 1]);
+        }
+        if (querySuffix.isEmpty()) {
+            return Link.of(href.toString(), rel);
+        }
+        return Link.of(href.append(querySuffix).toString(), rel); // Link parses {?..} and marks it templated
+    }
+
+    private static String encode(Object value) {
+        if (value instanceof Number) return value.toString();
+        return UriUtils.encodePathSegment(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+
+    /** Scheme + host + context/servlet path of the current request, computed once per request. */
+    static String currentBaseUri() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (!(attrs instanceof ServletRequestAttributes servletAttrs)) {
+            return ""; // поза запитом (фонові задачі) — відносні посилання
+        }
+        HttpServletRequest request = servletAttrs.getRequest();
+        Object cached = request.getAttribute(BASE_URI_ATTRIBUTE);
+        if (cached instanceof String base) return base;
+
+        String base = ServletUriComponentsBuilder.fromServletMapping(request).build().toUriString();
+        if (base.endsWith("/")) base = base.substring(0, base.length() - 1);
+        request.setAttribute(BASE_URI_ATTRIBUTE, base);
+        return base;
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        if (mapping == null || mapping.path().length == 0) return "";
+        return mapping.path()[0];
+    }
+
+    private static String join(String classPath, String methodPath) {
+        String path = StringUtils.hasText(classPath) ? ensureLeadingSlash(classPath) : "";
+        if (StringUtils.hasText(methodPath)) {
+            if (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+            path += ensureLeadingSlash(methodPath);
+        }
+        return path;
+    }
+
+    private static String ensureLeadingSlash(String path) {
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static List<String> requestParams(Method method) {
+        DefaultParameterNameDiscoverer names = new DefaultParameterNameDiscoverer();
+        List<String> params = new ArrayList<>();
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            MethodParameter parameter = new MethodParameter(method, i);
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (requestParam == null) continue;
+            String name = requestParam.name();
+            if (name.isEmpty()) {
+                parameter.initParameterNameDiscovery(names);
+                name = parameter.getParameterName();
+            }
+            params.add(name);
+        }
+        return params;
+    }
+}
@@ -1,23 +1,24 @@
 package ua.markiyan.sonara.hateoas;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.PaymentController;
 import ua.markiyan.sonara.dto.response.PaymentResponse;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class PaymentModelAssembler implements EntityModelAssembler<PaymentResponse> {
 
+    private static final LinkTemplate SELF = LinkTemplate.of(PaymentController.class, "get");
+    private static final LinkTemplate USER_PAYMENTS = LinkTemplate.of(PaymentController.class, "listByUser");
+    private static final LinkTemplate SUBSCRIPTION_PAYMENTS = LinkTemplate.of(PaymentController.class, "list");
+
     @Override
     public EntityModel<PaymentResponse> toModel(PaymentResponse p) {
         EntityModel<PaymentResponse> model = EntityModel.of(p);
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PaymentController.class).get(p.id())).withSelfRel());
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PaymentController.class).listByUser(p.userId())).withRel("userPayments"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PaymentController.class).list(p.subscriptionId())).withRel("subscriptionPayments"));
+        model.add(SELF.link(IanaLinkRelations.SELF, p.id()));
+        model.add(USER_PAYMENTS.link("userPayments", p.userId()));
+        model.add(SUBSCRIPTION_PAYMENTS.link("subscriptionPayments", p.subscriptionId()));
         return model;
     }
 }
-
@@ -1,24 +1,26 @@
 package ua.markiyan.sonara.hateoas;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.PlaylistItemController;
 import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class PlaylistItemModelAssembler implements EntityModelAssembler<PlaylistItemResponse> {
 
+    private static final LinkTemplate SELF = LinkTemplate.of(PlaylistItemController.class, "get");
+    private static final LinkTemplate LIST = LinkTemplate.of(PlaylistItemController.class, "list");
+    private static final LinkTemplate UPDATE = LinkTemplate.of(PlaylistItemController.class, "patch");
+    private static final LinkTemplate DELETE = LinkTemplate.of(PlaylistItemController.class, "delete");
+
     @Override
     public EntityModel<PlaylistItemResponse> toModel(PlaylistItemResponse item) {
         EntityModel<PlaylistItemResponse> model = EntityModel.of(item);
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PlaylistItemController.class).get(item.playlistId(), item.id())).withSelfRel());
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PlaylistItemController.class).list(item.playlistId())).withRel("items"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PlaylistItemController.class).patch(item.playlistId(), item.id(), null)).withRel("update"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PlaylistItemController.class).delete(item.playlistId(), item.id())).withRel("delete"));
+        model.add(SELF.link(IanaLinkRelations.SELF, item.playlistId(), item.id()));
+        model.add(LIST.link("items", item.playlistId()));
+        model.add(UPDATE.link("update", item.playlistId(), item.id()));
+        model.add(DELETE.link("delete", item.playlistId(), item.id()));
         return model;
     }
 }
-
@@ -1,23 +1,22 @@
 package ua.markiyan.sonara.hateoas;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.PlaylistController;
 import ua.markiyan.sonara.dto.response.PlaylistResponse;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class PlaylistModelAssembler implements EntityModelAssembler<PlaylistResponse> {
 
+    private static final LinkTemplate CREATE = LinkTemplate.of(PlaylistController.class, "create");
+    private static final LinkTemplate USER_PLAYLISTS = LinkTemplate.of(PlaylistController.class, "list");
+
     @Override
     public EntityModel<PlaylistResponse> toModel(PlaylistResponse playlist) {
         EntityModel<PlaylistResponse> model = EntityModel.of(playlist);
         // Playlist endpoints are nested under user. Provide links for item management and list creation.
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PlaylistController.class).create(playlist.userId(), null)).withRel("create"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(PlaylistController.class).list(playlist.userId())).withRel("userPlaylists"));
+        model.add(CREATE.link("create", playlist.userId()));
+        model.add(USER_PLAYLISTS.link("userPlaylists", playlist.userId()));
         return model;
     }
 }
-
@@ -1,23 +1,22 @@
 package ua.markiyan.sonara.hateoas;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.SubscriptionController;
 import ua.markiyan.sonara.dto.response.SubscriptionResponse;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class SubscriptionModelAssembler implements EntityModelAssembler<SubscriptionResponse> {
 
+    private static final LinkTemplate USER_SUBSCRIPTIONS = LinkTemplate.of(SubscriptionController.class, "list");
+    private static final LinkTemplate CREATE = LinkTemplate.of(SubscriptionController.class, "create");
+
     @Override
     public EntityModel<SubscriptionResponse> toModel(SubscriptionResponse sub) {
         EntityModel<SubscriptionResponse> model = EntityModel.of(sub);
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(SubscriptionController.class).list(sub.userId())).withRel("userSubscriptions"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(SubscriptionController.class).create(sub.userId(), null)).withRel("create"));
+        model.add(USER_SUBSCRIPTIONS.link("userSubscriptions", sub.userId()));
+        model.add(CREATE.link("create", sub.userId()));
         // no specific subscription controller for single subscription in current API
         return model;
     }
 }
-
@@ -1,24 +1,44 @@
 package ua.markiyan.sonara.hateoas;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.TrackController;
 import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.media.AudioQuality;
+import ua.markiyan.sonara.media.AudioUrlResolver;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
+/**
+ * Also the single place where playback URLs are filled in: {@code audioUrl} is derived from
+ * {@code audioKey} per response (signed URLs must not end up in the catalog cache), with one
+ * {@code audio-<quality>} link per variant.
+ */
 @Component
+@RequiredArgsConstructor
 public class TrackModelAssembler implements EntityModelAssembler<TrackResponse> {
 
+    private static final LinkTemplate SELF = LinkTemplate.of(TrackController.class, "get");
+    private static final LinkTemplate LIST = LinkTemplate.of(TrackController.class, "search");
+    private static final LinkTemplate UPDATE = LinkTemplate.of(TrackController.class, "patch");
+    private static final LinkTemplate DELETE = LinkTemplate.of(TrackController.class, "delete");
+
+    private final AudioUrlResolver audioUrls;
+
     @Override
     public EntityModel<TrackResponse> toModel(TrackResponse track) {
-        EntityModel<TrackResponse> model = EntityModel.of(track);
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(TrackController.class).get(track.id())).withSelfRel());
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(TrackController.class).search(null, null, null, org.springframework.data.domain.Pageable.unpaged())).withRel("tracks"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(TrackController.class).patch(track.id(), null)).withRel("update"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(TrackController.class).delete(track.id())).withRel("delete"));
+        String key = track.audioKey();
+        EntityModel<TrackResponse> model = EntityModel.of(key == null ? track : new TrackResponse(
+                track.id(), track.title(), track.durationSec(), key, track.explicitFlag(), audioUrls.url(key),
+                track.version(), track.updatedAt()));
+        model.add(SELF.link(IanaLinkRelations.SELF, track.id()));
+        model.add(LIST.link("tracks"));
+        model.add(UPDATE.link("update", track.id()));
+        model.add(DELETE.link("delete", track.id()));
+        if (key != null) {
+            for (AudioQuality q : AudioQuality.values()) model.add(Link.of(audioUrls.url(key, q), q.rel()));
+        }
         return model;
     }
 }
-
@@ -1,24 +1,26 @@
 package ua.markiyan.sonara.hateoas;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.stereotype.Component;
 import ua.markiyan.sonara.controller.UserController;
 import ua.markiyan.sonara.dto.response.UserResponse;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class UserModelAssembler implements EntityModelAssembler<UserResponse> {
 
+    private static final LinkTemplate SELF = LinkTemplate.of(UserController.class, "get");
+    private static final LinkTemplate LIST = LinkTemplate.of(UserController.class, "search");
+    private static final LinkTemplate UPDATE = LinkTemplate.of(UserController.class, "patch");
+    private static final LinkTemplate DELETE = LinkTemplate.of(UserController.class, "delete");
+
     @Override
     public EntityModel<UserResponse> toModel(UserResponse user) {
         EntityModel<UserResponse> model = EntityModel.of(user);
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(UserController.class).get(user.id())).withSelfRel());
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(UserController.class).search(null, org.springframework.data.domain.Pageable.unpaged())).withRel("users"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(UserController.class).patch(user.id(), null)).withRel("update"));
-        model.add(WebMvcLinkBuilder.linkTo(methodOn(UserController.class).delete(user.id())).withRel("delete"));
+        model.add(SELF.link(IanaLinkRelations.SELF, user.id()));
+        model.add(LIST.link("users"));
+        model.add(UPDATE.link("update", user.id()));
+        model.add(DELETE.link("delete", user.id()));
         return model;
     }
 }
-
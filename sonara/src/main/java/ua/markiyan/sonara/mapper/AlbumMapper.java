@@ -35,7 +35,9 @@ public final class AlbumMapper {
                 e.getTitle(),
                 e.getReleaseDate(),
                 e.getCoverUrl(),
-                e.getArtist() != null ? e.getArtist().getId() : null
+                e.getArtist() != null ? e.getArtist().getId() : null,
+                e.getVersion(),
+                e.getUpdatedAt()
         );
     }
 }
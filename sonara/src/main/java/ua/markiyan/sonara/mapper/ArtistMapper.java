@@ -4,8 +4,6 @@ import ua.markiyan.sonara.dto.response.ArtistResponse;
 import ua.markiyan.sonara.dto.request.ArtistRequest;
 import ua.markiyan.sonara.entity.Artist;
 
-import java.util.List;
-
 public final class ArtistMapper {
     private ArtistMapper() {}
 
@@ -19,18 +17,14 @@ public final class ArtistMapper {
     }
 
     public static ArtistResponse toResponse(Artist e) {
-        List<ua.markiyan.sonara.dto.response.AlbumResponse> albums =
-                e.getAlbums() == null ? List.of()
-                        : e.getAlbums().stream()
-                        .map(AlbumMapper::toResponse)
-                        .toList();
-
         return new ArtistResponse(
                 e.getId(),
                 e.getName(),
                 e.getCountry(),
                 e.getStartYear(),
-                e.getBio()
+                e.getBio(),
+                e.getVersion(),
+                e.getUpdatedAt()
         );
     }
 }
@@ -43,7 +43,9 @@ public final class TrackMapper {
                 t.getDurationSec(),
                 t.getAudioKey(),
                 t.isExplicitFlag(),  // boolean getter з Lombok — isExplicitFlag()
-                t.getAudioUrl()
+                t.getAudioUrl(),
+                t.getVersion(),
+                t.getUpdatedAt()
         );
     }
 }
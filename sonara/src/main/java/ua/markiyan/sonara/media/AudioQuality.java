@@ -0,0 +1,40 @@
+package ua.markiyan.sonara.media;
+
+import ua.markiyan.sonara.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Encoded variants of one {@code audioKey}. {@link #NORMAL} is the original {@code <key>.mp3},
+ * other bitrates live next to it as {@code <key>_<kbps>.mp3}.
+ */
+public enum AudioQuality {
+    LOW(96), NORMAL(160), HIGH(320);
+
+    private final int kbps;
+
+    AudioQuality(int kbps) {
+        this.kbps = kbps;
+    }
+
+    public int kbps() {
+        return kbps;
+    }
+
+    /** Object path relative to the storage root. */
+    public String path(String audioKey) {
+        return this == NORMAL ? audioKey + ".mp3" : audioKey + "_" + kbps + ".mp3";
+    }
+
+    public String rel() {
+        return "audio-" + name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Parses the {@code quality} request parameter, case-insensitive. */
+    public static AudioQuality of(String value) {
+        for (AudioQuality q : values()) {
+            if (q.name().equalsIgnoreCase(value)) return q;
+        }
+        throw new BadRequestException("Unsupported audio quality '%s', expected low, normal or high".formatted(value));
+    }
+}
@@ -0,0 +1,11 @@
+package ua.markiyan.sonara.media;
+
+/**
+ * Where audio objects live. Selected by {@code app.media.backend}; URLs are derived from
+ * {@code audioKey} at read time, so switching backend or CDN needs no data migration.
+ */
+public interface AudioStorage {
+
+    /** Unsigned public location of an object path produced by {@link AudioQuality#path}. */
+    String location(String objectPath);
+}
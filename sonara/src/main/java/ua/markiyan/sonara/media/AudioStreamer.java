@@ -0,0 +1,125 @@
+package ua.markiyan.sonara.media;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a local audio file to the response with single-range support
+ * ({@code Range}, {@code If-Range}, {@code ETag}/{@code Last-Modified}, 206/304/416).
+ * <p>
+ * On Tomcat the body is handed to the connector's sendfile, so the bytes go from the page cache
+ * to the socket without being copied into the JVM. Elsewhere (or for small bodies)
+ * {@link FileChannel#transferTo} copies through a small direct buffer; the heap never holds the file.
+ * <p>
+ * Multi-range requests are answered with the whole file (allowed by RFC 9110) - players only
+ * ever ask for one range.
+ */
+@Component
+public class AudioStreamer {
+
+    static final String CONTENT_TYPE = "audio/mpeg";
+
+    // org.apache.catalina.Globals.SENDFILE_* - без залежності від Tomcat API
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // як у DefaultServlet: для дрібних відповідей sendfile не окупається
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    public void stream(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"%x-%x\"".formatted(length, lastModified);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(CONTENT_TYPE);
+        // If-None-Match / If-Modified-Since -> 304, If-Match -> 412; також виставляє ETag і Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) return;
+
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range == null) {
+            send(file, 0, length, request, response);
+            return;
+        }
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            start = length; // за межами файлу
+            end = -1;
+        }
+        if (start > end) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes %d-%d/%d".formatted(start, end, length));
+        send(file, start, end - start + 1, request, response);
+    }
+
+    /** The single range to serve, or {@code null} for the whole file. */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(request, etag, lastModified)) return null;
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null; // некоректний Range ігноруємо, як дозволяє RFC
+        }
+    }
+
+    /** {@code If-Range}: strong ETag comparison or an exact {@code Last-Modified} date. */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) return ifRange.equals(etag);
+        if (ifRange.startsWith("W/")) return false;
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void send(Path file, long start, long count, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) && count >= SENDFILE_MIN_BYTES) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return; // конектор віддасть тіло після виходу з сервлета
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) break; // файл обрізали під час віддачі
+                position += sent;
+            }
+        }
+    }
+}
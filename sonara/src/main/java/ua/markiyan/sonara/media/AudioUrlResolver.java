@@ -0,0 +1,111 @@
+package ua.markiyan.sonara.media;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Playback URLs for an {@code audioKey}. With {@code app.media.signing-key} set, URLs carry
+ * {@code exp} and an HMAC-SHA256 {@code sig} over {@code <path>:<exp>}; otherwise they are the
+ * plain storage location.
+ * <p>
+ * {@code exp} is rounded up to an {@code app.media.url-bucket} boundary, so every request in the
+ * same bucket gets the same URL: the signature is computed once per (path, bucket) and cached,
+ * and the CDN sees a stable cache key.
+ */
+@Component
+public class AudioUrlResolver {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private record SignedKey(String path, long exp) {}
+
+    private final AudioStorage storage;
+    private final byte[] signingKey;
+    private final long ttlSec;
+    private final long bucketSec;
+    private final Clock clock;
+    private final Cache<SignedKey, String> signed = Caffeine.newBuilder().maximumSize(100_000).build();
+
+    @Autowired
+    public AudioUrlResolver(AudioStorage storage,
+                            @Value("${app.media.signing-key:}") String signingKey,
+                            @Value("${app.media.url-ttl:1h}") Duration ttl,
+                            @Value("${app.media.url-bucket:5m}") Duration bucket) {
+        this(storage, signingKey, ttl, bucket, Clock.systemUTC());
+    }
+
+    AudioUrlResolver(AudioStorage storage, String signingKey, Duration ttl, Duration bucket, Clock clock) {
+        this.storage = storage;
+        this.signingKey = signingKey.getBytes(StandardCharsets.UTF_8);
+        this.ttlSec = ttl.toSeconds();
+        this.bucketSec = Math.max(1, bucket.toSeconds());
+        this.clock = clock;
+    }
+
+    public boolean isSigning() {
+        return signingKey.length > 0;
+    }
+
+    /** Default-quality URL; {@code null} for tracks without an audio key. */
+    public String url(String audioKey) {
+        return url(audioKey, AudioQuality.NORMAL);
+    }
+
+    public String url(String audioKey, AudioQuality quality) {
+        if (audioKey == null || audioKey.isBlank()) return null;
+        String path = quality.path(audioKey);
+        if (!isSigning()) return storage.location(path);
+        long now = clock.millis() / 1000;
+        long exp = (now / bucketSec + 1) * bucketSec + ttlSec;
+        // get(key, fn) — підпис рахується один раз на (path, bucket)
+        return signed.get(new SignedKey(path, exp),
+                k -> storage.location(k.path()) + "?exp=" + k.exp() + "&sig=" + sign(k.path(), k.exp()));
+    }
+
+    /**
+     * Changes exactly when {@link #url} starts returning new URLs for the same key (next bucket);
+     * part of a track's ETag. Always 0 when signing is off.
+     */
+    public long urlEpoch() {
+        return isSigning() ? clock.millis() / 1000 / bucketSec : 0;
+    }
+
+    /** Unsigned default-quality location, kept in {@code Track.audioUrl} for older consumers of the column. */
+    public String canonicalUrl(String audioKey) {
+        if (audioKey == null || audioKey.isBlank()) {
+            throw new IllegalArgumentException("audioKey must not be blank");
+        }
+        return storage.location(AudioQuality.NORMAL.path(audioKey));
+    }
+
+    /** Checks a signed URL's parameters; always true when signing is off. */
+    public boolean verify(String objectPath, long exp, String sig) {
+        if (!isSigning()) return true;
+        if (sig == null || exp < clock.millis() / 1000) return false;
+        return MessageDigest.isEqual(sign(objectPath, exp).getBytes(StandardCharsets.US_ASCII),
+                sig.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String path, long exp) {
+        try {
+            Mac mac = Mac.getInstance(HMAC); // Mac не потокобезпечний, а промахи кешу рідкісні
+            mac.init(new SecretKeySpec(signingKey, HMAC));
+            byte[] sig = mac.doFinal((path + ":" + exp).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(sig);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing failed", e);
+        }
+    }
+}
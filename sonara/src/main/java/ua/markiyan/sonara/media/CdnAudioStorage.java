@@ -0,0 +1,21 @@
+package ua.markiyan.sonara.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.media.backend", havingValue = "cdn", matchIfMissing = true)
+public class CdnAudioStorage implements AudioStorage {
+
+    private final String baseUrl;
+
+    public CdnAudioStorage(@Value("${app.media.cdn.base-url:https://cloudflare.com/}") String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public String location(String objectPath) {
+        return baseUrl + objectPath;
+    }
+}
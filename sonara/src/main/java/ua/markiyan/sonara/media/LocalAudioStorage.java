@@ -0,0 +1,42 @@
+package ua.markiyan.sonara.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Audio files on the local filesystem under {@code app.media.local.root}; for tests and on-prem setups.
+ */
+@Component
+@ConditionalOnProperty(name = "app.media.backend", havingValue = "local")
+public class LocalAudioStorage implements AudioStorage {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalAudioStorage(@Value("${app.media.local.root:./media}") Path root,
+                             @Value("${app.media.local.base-url:/media/}") String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public String location(String objectPath) {
+        return baseUrl + objectPath;
+    }
+
+    /** The file behind an object path; empty if it does not exist or points outside the root. */
+    public Optional<Path> file(String objectPath) {
+        Path file = root.resolve(objectPath).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) return Optional.empty(); // ../ у ключі
+        return Optional.of(file);
+    }
+
+    public Path root() {
+        return root;
+    }
+}
@@ -0,0 +1,28 @@
+package ua.markiyan.sonara.observability;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time spent in HATEOAS assemblers (link building, model wrapping) for {@link RequestTimings}.
+ */
+@Aspect
+@Component
+class AssemblyTimingAspect {
+
+    @Around("execution(* org.springframework.hateoas.server.RepresentationModelAssembler+.toModel(..))"
+            + " || execution(* org.springframework.hateoas.server.RepresentationModelAssembler+.toCollectionModel(..))")
+    Object time(ProceedingJoinPoint pjp) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) return pjp.proceed();
+        boolean outermost = timings.enterAssembly();
+        long started = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            timings.exitAssembly(outermost, System.nanoTime() - started);
+        }
+    }
+}
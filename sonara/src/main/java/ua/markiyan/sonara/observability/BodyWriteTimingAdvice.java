@@ -0,0 +1,31 @@
+package ua.markiyan.sonara.observability;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the moment the handler is done and the body goes to the message converter;
+ * from here to the end of the request is the {@code write} phase (JSON serialization + socket).
+ */
+@ControllerAdvice
+class BodyWriteTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) timings.markBodyWrite();
+        return body;
+    }
+}
@@ -0,0 +1,48 @@
+package ua.markiyan.sonara.observability;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link RequestTimings} from Hibernate and Spring Data. Per-method repository timers
+ * ({@code spring.data.repository.invocations}) and pool wait ({@code hikaricp.connections.acquire})
+ * come from Spring Boot itself; histograms for them are switched on in {@code application.properties}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ObservabilityConfig {
+
+    /** Counts every SQL statement Hibernate prepares on the request thread. */
+    @Bean
+    HibernatePropertiesCustomizer statementCountingInspector() {
+        StatementInspector inspector = sql -> {
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) timings.addStatement();
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    /** Adds repository call time to the current request (streams: until the Stream is returned). */
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation -> {
+                        RequestTimings timings = RequestTimings.current();
+                        if (timings != null) timings.addRepositoryCall(invocation.getDuration(TimeUnit.NANOSECONDS));
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package ua.markiyan.sonara.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request breakdown on top of Spring's own {@code http.server.requests} timer:
+ * <ul>
+ *   <li>{@code http.server.requests.statements} - SQL statements issued by the request;</li>
+ *   <li>{@code http.server.requests.phase{phase=jwt|repository|assembly|write}} - time spent in the JWT filter,
+ *       in repository methods, in HATEOAS assemblers and writing the response body.</li>
+ * </ul>
+ * Requests slower than {@code app.observability.slow-request} are logged with the same breakdown
+ * ({@code other} is controller/service code, security and everything not covered above).
+ * Async dispatches (streaming exports) are measured up to the point the handler returns.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2) // одразу після ServerHttpObservationFilter, до Spring Security
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS = "http.server.requests.statements";
+    static final String PHASE = "http.server.requests.phase";
+
+    private final MeterRegistry registry;
+    private final long slowNanos;
+
+    public RequestMetricsFilter(MeterRegistry registry,
+                                @Value("${app.observability.slow-request:1s}") Duration slowRequest) {
+        this.registry = registry;
+        this.slowNanos = slowRequest.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.clear();
+            record(request, response, timings, System.nanoTime());
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestTimings t, long end) {
+        long total = end - t.startNanos;
+        long write = t.bodyWriteStartNanos == 0 ? 0 : end - t.bodyWriteStartNanos;
+
+        // uri - шаблон маршруту, як у http.server.requests: обмежена кардинальність
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+
+        DistributionSummary.builder(STATEMENTS)
+                .description("SQL statements per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(t.statements);
+        phase(tags, "jwt", t.jwtNanos);
+        phase(tags, "repository", t.repositoryNanos);
+        phase(tags, "assembly", t.assemblyNanos);
+        phase(tags, "write", write);
+
+        if (total >= slowNanos) {
+            long other = total - t.jwtNanos - t.repositoryNanos - t.assemblyNanos - write;
+            log.warn("Slow request {} {} -> {} in {} ms: jwt={} ms, repository={} ms ({} calls, {} statements), "
+                            + "assembly={} ms, write={} ms, other={} ms",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), ms(total),
+                    ms(t.jwtNanos), ms(t.repositoryNanos), t.repositoryCalls, t.statements,
+                    ms(t.assemblyNanos), ms(write), ms(Math.max(other, 0)));
+        }
+    }
+
+    private void phase(Tags tags, String phase, long nanos) {
+        Timer.builder(PHASE)
+                .description("Time per request spent in one phase")
+                .tags(tags)
+                .tag("phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static long ms(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,62 @@
+package ua.markiyan.sonara.observability;
+
+/**
+ * Where the time of the current request went, collected on the request thread.
+ * {@link RequestMetricsFilter} opens it; SQL, repository, assembly and JWT hooks add to it
+ * through {@link #current()}, which is {@code null} outside a request (async export threads,
+ * background writers), so every hook must tolerate that.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    final long startNanos = System.nanoTime();
+    long jwtNanos;
+    long repositoryNanos;
+    int repositoryCalls;
+    int statements;
+    long assemblyNanos;
+    private int assemblyDepth;
+    long bodyWriteStartNanos;
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public void addJwt(long nanos) {
+        jwtNanos += nanos;
+    }
+
+    void addRepositoryCall(long nanos) {
+        repositoryCalls++;
+        repositoryNanos += nanos;
+    }
+
+    void addStatement() {
+        statements++;
+    }
+
+    /** Assemblers call each other (paged -> item); only the outermost call is counted. */
+    boolean enterAssembly() {
+        return assemblyDepth++ == 0;
+    }
+
+    void exitAssembly(boolean outermost, long nanos) {
+        assemblyDepth--;
+        if (outermost) assemblyNanos += nanos;
+    }
+
+    void markBodyWrite() {
+        if (bodyWriteStartNanos == 0) bodyWriteStartNanos = System.nanoTime();
+    }
+}
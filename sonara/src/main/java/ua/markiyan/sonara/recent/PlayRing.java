@@ -0,0 +1,91 @@
+package ua.markiyan.sonara.recent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of one user's most recent distinct tracks, newest first, kept in three parallel
+ * primitive arrays (about 20 bytes per slot, no per-entry objects). Playing a track that is already
+ * in the ring moves it to the head instead of adding a duplicate; when the ring is full the oldest
+ * entry is overwritten.
+ */
+final class PlayRing {
+
+    record Entry(long trackId, long playedAt, int positionSec) {}
+
+    private final long[] trackIds;
+    private final long[] playedAt;   // epoch millis
+    private final int[] positions;   // секунда, на якій зупинились
+    private int head = -1;           // фізичний слот найновішого запису
+    private int size;
+    private long version;            // росте з кожною зміною; flush по ньому бачить, чи встигли дописати
+
+    PlayRing(int capacity) {
+        this.trackIds = new long[capacity];
+        this.playedAt = new long[capacity];
+        this.positions = new int[capacity];
+    }
+
+    /** {@code false} when the ring already has a newer play of this track (late or replayed event). */
+    synchronized boolean add(long trackId, long at, int positionSec) {
+        int k = indexOf(trackId);
+        if (k >= 0) {
+            if (playedAt[slot(k)] > at) return false;
+            remove(k);
+        }
+        head = (head + 1) % trackIds.length;
+        trackIds[head] = trackId;
+        playedAt[head] = at;
+        positions[head] = positionSec;
+        size = Math.min(size + 1, trackIds.length);
+        version++;
+        return true;
+    }
+
+    synchronized List<Entry> entries(int limit) {
+        int n = Math.min(limit, size);
+        List<Entry> result = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            int s = slot(k);
+            result.add(new Entry(trackIds[s], playedAt[s], positions[s]));
+        }
+        return result;
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    int capacity() {
+        return trackIds.length;
+    }
+
+    private int indexOf(long trackId) {
+        for (int k = 0; k < size; k++) {
+            if (trackIds[slot(k)] == trackId) return k;
+        }
+        return -1;
+    }
+
+    /** Drops logical entry {@code k}: newer entries shift one step towards the tail, the head moves back. */
+    private void remove(int k) {
+        for (int j = k; j > 0; j--) {
+            int to = slot(j);
+            int from = slot(j - 1);
+            trackIds[to] = trackIds[from];
+            playedAt[to] = playedAt[from];
+            positions[to] = positions[from];
+        }
+        head = slot(1);
+        size--;
+    }
+
+    // логічний індекс (0 — найновіший) -> фізичний слот
+    private int slot(int k) {
+        return Math.floorMod(head - k, trackIds.length);
+    }
+}
@@ -0,0 +1,200 @@
+package ua.markiyan.sonara.recent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.dto.response.RecentPlayResponse;
+import ua.markiyan.sonara.service.impl.PlayEventWriter.PendingPlay;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "recently played" / "continue listening" rings ({@link PlayRing}) in memory, with
+ * write-behind persistence to {@code recent_play}.
+ * <p>
+ * Written plays only touch the user's ring and mark it dirty; every {@code app.recent.flush-interval}
+ * each dirty user is rewritten once (delete + one JDBC batch for all of them), however many plays
+ * arrived in between. Reads are served from memory; the DB is read only when a user's ring is not
+ * resident yet (first read after a restart or after eviction past {@code app.recent.max-users}).
+ * Dirty rings are never lost to eviction - they stay in the dirty map until flushed.
+ * <p>
+ * Plays not yet flushed are lost if the process dies (the raw {@code play_event} rows stay).
+ */
+@Slf4j
+@Component
+public class RecentlyPlayedStore implements SmartLifecycle {
+
+    private static final String LOAD = """
+            select track_id, position_sec, played_at from recent_play
+            where user_id = :userId
+            order by played_at desc""";
+    private static final String DELETE_USERS = "delete from recent_play where user_id in (:ids)";
+    // INSERT ... SELECT: юзер/трек, видалені до flush, дають 0 рядків замість помилки на весь батч
+    private static final String INSERT = """
+            insert into recent_play (user_id, track_id, position_sec, played_at)
+            select u.id, t.id, :positionSec, :playedAt
+            from users u, track t
+            where u.id = :userId and t.id = :trackId""";
+    private static final int IN_CHUNK = 1000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int size;
+    private final Cache<Long, PlayRing> rings;
+    // userId -> кільце зі змінами, яких ще немає в БД
+    private final Map<Long, PlayRing> dirty = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private volatile boolean running;
+
+    public RecentlyPlayedStore(NamedParameterJdbcTemplate jdbc,
+                               PlatformTransactionManager txManager,
+                               MeterRegistry registry,
+                               @Value("${app.recent.size:30}") int size,
+                               @Value("${app.recent.max-users:50000}") long maxUsers) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.size = size;
+        this.rings = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+        registry.gauge("recent.users.dirty", dirty, Map::size);
+        registry.gauge("recent.users.resident", rings, c -> c.estimatedSize());
+        this.flushTimer = Timer.builder("recent.flush")
+                .description("Time to write the dirty recently-played rings")
+                .register(registry);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Called by the play writer with the events it has just persisted; both starts and ends move the position. */
+    public void record(List<PendingPlay> written) {
+        for (PendingPlay p : written) {
+            long userId = p.userId();
+            PlayRing loaded = rings.get(userId, this::load);
+            // compute тримає ключ, тож flush не зніме позначку "брудний" посеред add
+            dirty.compute(userId, (id, current) -> {
+                PlayRing ring = current != null ? current : loaded;
+                ring.add(p.trackId(), toMillis(p.occurredAt()), p.positionSec() == null ? 0 : p.positionSec());
+                return ring;
+            });
+        }
+    }
+
+    /** Newest first; {@code limit} is capped by the ring size. */
+    public List<RecentPlayResponse> recent(long userId, int limit) {
+        PlayRing ring = dirty.get(userId);
+        if (ring == null) ring = rings.get(userId, this::load);
+        return ring.entries(limit).stream()
+                .map(e -> new RecentPlayResponse(e.trackId(), e.positionSec(), toDateTime(e.playedAt())))
+                .toList();
+    }
+
+    /** Drops the user's history in memory and in the DB (joins the caller's transaction). */
+    public void forget(long userId) {
+        dirty.remove(userId);
+        rings.invalidate(userId);
+        jdbc.update(DELETE_USERS, Map.of("ids", List.of(userId)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.recent.flush-interval:10s}", initialDelayString = "${app.recent.flush-interval:10s}")
+    public synchronized void flush() {
+        if (dirty.isEmpty()) return;
+        Map<Long, PlayRing> batch = new HashMap<>(dirty);
+        Map<Long, Long> versions = new HashMap<>();
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        batch.forEach((userId, ring) -> {
+            synchronized (ring) {
+                versions.put(userId, ring.version());
+                for (PlayRing.Entry e : ring.entries(size)) {
+                    rows.add(new MapSqlParameterSource()
+                            .addValue("userId", userId)
+                            .addValue("trackId", e.trackId())
+                            .addValue("positionSec", e.positionSec())
+                            .addValue("playedAt", Timestamp.valueOf(toDateTime(e.playedAt()))));
+                }
+            }
+        });
+        try {
+            flushTimer.record(() -> tx.executeWithoutResult(status -> {
+                List<Long> ids = new ArrayList<>(batch.keySet());
+                for (int i = 0; i < ids.size(); i += IN_CHUNK) {
+                    jdbc.update(DELETE_USERS, Map.of("ids", ids.subList(i, Math.min(i + IN_CHUNK, ids.size()))));
+                }
+                if (!rows.isEmpty()) jdbc.batchUpdate(INSERT, rows.toArray(MapSqlParameterSource[]::new));
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Recently played flush failed, {} users kept for the next attempt", batch.size(), e);
+            return;
+        }
+        // знімаємо позначку, лише якщо після знімка кільце не змінилось
+        batch.forEach((userId, ring) -> dirty.computeIfPresent(userId,
+                (id, current) -> current == ring && ring.version() == versions.get(id) ? null : current));
+        log.debug("Recently played flush: {} users, {} rows", batch.size(), rows.size());
+    }
+
+    private PlayRing load(Long userId) {
+        PlayRing pending = dirty.get(userId);
+        if (pending != null) return pending;
+        List<long[]> rows = new ArrayList<>();
+        jdbc.query(LOAD, Map.of("userId", userId), rs -> {
+            if (rows.size() < size) {
+                rows.add(new long[]{rs.getLong("track_id"), rs.getInt("position_sec"),
+                        toMillis(rs.getTimestamp("played_at").toLocalDateTime())});
+            }
+        });
+        PlayRing ring = new PlayRing(size);
+        for (int i = rows.size() - 1; i >= 0; i--) { // від найстарішого, щоб найновіший став головою
+            long[] r = rows.get(i);
+            ring.add(r[0], r[2], (int) r[1]);
+        }
+        return ring;
+    }
+
+    // LocalDateTime як є, без часових поясів: UTC тут лише спосіб закодувати його в long
+    private static long toMillis(LocalDateTime at) {
+        return at.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops after {@code PlayEventWriter}, so plays from its final drain are flushed too. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
@@ -4,18 +4,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.dto.response.AlbumResponse;
 import ua.markiyan.sonara.entity.Album;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface AlbumRepository extends JpaRepository<Album, Long> {
+public interface AlbumRepository extends JpaRepository<Album, Long>, JpaSpecificationExecutor<Album> {
 
     boolean existsByTitleIgnoreCaseAndArtist_Id(String title, Long artistId);
 
     Optional<Album> findByTitleIgnoreCaseAndArtist_Id(String title, Long artistId);
 
-    List<Album> findAllByArtist_Id(Long artistId);
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.AlbumResponse(a.id, a.title, a.releaseDate, a.coverUrl, a.artist.id, a.version, a.updatedAt)
+            from Album a
+            where a.artist.id = :artistId""")
+    List<AlbumResponse> findResponsesByArtistId(@Param("artistId") Long artistId);
 
     // Коли треба одразу з артистом (наприклад, щоб зчитати artistId без додаткового запиту)
     @EntityGraph(attributePaths = "artist")
@@ -34,4 +42,16 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
     Page<Album> findByTitleContainingIgnoreCaseAndReleaseDate(String title,
                                                               java.time.LocalDate releaseDate,
                                                               Pageable pageable);
+
+    @Query("select a.id as id, a.title as title from Album a")
+    List<TitleView> findAllTitles();
+
+    @Query("select a.id from Album a where a.artist.id = :artistId")
+    List<Long> findIdsByArtistId(@Param("artistId") Long artistId);
+
+    @Query("select a.id as id, a.title as title from Album a where a.artist.id = :artistId")
+    List<TitleView> findTitlesByArtistId(@Param("artistId") Long artistId);
+
+    @Query("select a.title from Album a where a.id = :albumId and a.artist.id = :artistId")
+    Optional<String> findTitleByIdAndArtistId(@Param("albumId") Long albumId, @Param("artistId") Long artistId);
 }
@@ -0,0 +1,26 @@
+package ua.markiyan.sonara.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import ua.markiyan.sonara.entity.Album;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AlbumSpecifications {
+    private AlbumSpecifications() {}
+
+    public static Specification<Album> matching(String title, LocalDate releaseDate) {
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            if (title != null && !title.isBlank()) {
+                where.add(cb.like(cb.lower(root.get("title")), TrackSpecifications.containsPattern(title), '\\'));
+            }
+            if (releaseDate != null) {
+                where.add(cb.equal(root.get("releaseDate"), releaseDate));
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+    }
+}
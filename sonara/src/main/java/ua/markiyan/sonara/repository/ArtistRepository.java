@@ -1,5 +1,6 @@
 package ua.markiyan.sonara.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -7,6 +8,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ua.markiyan.sonara.entity.Artist;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 
 
 
@@ -21,4 +23,7 @@ public interface ArtistRepository extends JpaRepository<Artist, Long> {
     Page<Artist> findByNameContainingIgnoreCaseAndCountryContainingIgnoreCase(
             String name, String country, Pageable pageable
     );
+
+    @Query("select a.id as id, a.name as title from Artist a")
+    List<TitleView> findAllNames();
 }
@@ -1,12 +1,27 @@
 package ua.markiyan.sonara.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.dto.response.PaymentResponse;
 import ua.markiyan.sonara.entity.Payment;
 
 import java.util.List;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    List<Payment> findAllByUser_Id(Long userId);
-    List<Payment> findAllBySubscription_Id(Long subscriptionId);
+
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.PaymentResponse(
+                p.id, p.user.id, p.subscription.id, p.amount, cast(p.status as String))
+            from Payment p
+            where p.user.id = :userId""")
+    List<PaymentResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.PaymentResponse(
+                p.id, p.user.id, p.subscription.id, p.amount, cast(p.status as String))
+            from Payment p
+            where p.subscription.id = :subscriptionId""")
+    List<PaymentResponse> findResponsesBySubscriptionId(@Param("subscriptionId") Long subscriptionId);
 }
 
@@ -1,11 +1,58 @@
 package ua.markiyan.sonara.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
+import ua.markiyan.sonara.dto.response.TrackExportRow;
 import ua.markiyan.sonara.entity.PlaylistItem;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface PlaylistItemRepository extends JpaRepository<PlaylistItem, Long> {
-    List<PlaylistItem> findAllByPlaylist_IdOrderByPositionAsc(Long playlistId);
+public interface PlaylistItemRepository extends JpaRepository<PlaylistItem, Long>, PlaylistItemRepositoryCustom {
+
+    long countByPlaylist_Id(Long playlistId);
+
+    @Query("select coalesce(max(pi.position), 0) from PlaylistItem pi where pi.playlist.id = :playlistId")
+    int findMaxPosition(@Param("playlistId") Long playlistId);
+
+    @Query("select pi.id from PlaylistItem pi where pi.playlist.id = :playlistId order by pi.position asc")
+    List<Long> findIdsInOrder(@Param("playlistId") Long playlistId);
+
+    // DTO-проєкції для list-ендпоінтів: один SELECT, без ентіті в persistence context
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.PlaylistItemResponse(pi.id, pi.playlist.id, pi.track.id, pi.position)
+            from PlaylistItem pi
+            where pi.playlist.id = :playlistId
+            order by pi.position asc""")
+    List<PlaylistItemResponse> findResponsesByPlaylistId(@Param("playlistId") Long playlistId);
+
+    // перша сторінка для превʼю; count Spring Data робить лише коли елементів більше, ніж влізло
+    @Query(value = """
+            select new ua.markiyan.sonara.dto.response.PlaylistItemResponse(pi.id, pi.playlist.id, pi.track.id, pi.position)
+            from PlaylistItem pi
+            where pi.playlist.id = :playlistId
+            order by pi.position asc""",
+            countQuery = "select count(pi) from PlaylistItem pi where pi.playlist.id = :playlistId")
+    Page<PlaylistItemResponse> findResponsesByPlaylistId(@Param("playlistId") Long playlistId, Pageable pageable);
+
+    // експорт: курсор з fetch size замість повного списку; споживати всередині транзакції
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.TrackExportRow(
+                pi.position, t.id, t.title, ar.name, al.title, t.durationSec, t.audioKey, t.explicitFlag)
+            from PlaylistItem pi join pi.track t join t.artist ar join t.album al
+            where pi.playlist.id = :playlistId
+            order by pi.position asc""")
+    Stream<TrackExportRow> streamExportRows(@Param("playlistId") Long playlistId);
 }
 
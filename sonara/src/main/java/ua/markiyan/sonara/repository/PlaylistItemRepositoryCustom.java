@@ -0,0 +1,30 @@
+package ua.markiyan.sonara.repository;
+
+import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
+
+import java.util.List;
+
+/**
+ * Set-based position writes for {@link ua.markiyan.sonara.entity.PlaylistItem}.
+ * Positions are sparse sort keys, not indexes: they only have to be positive and unique per playlist.
+ */
+public interface PlaylistItemRepositoryCustom {
+
+    /** Items at {@code offset .. offset+limit-1} of the playlist order. */
+    List<PlaylistItemResponse> findWindow(Long playlistId, int offset, int limit);
+
+    /** Sets {@code positions[i]} on {@code ids.get(i)}; the target positions must be free. */
+    void assignPositions(Long playlistId, List<Long> ids, int[] positions);
+
+    /**
+     * Appends items with one JDBC batch: {@code trackIds.get(i)} gets {@code firstPosition + i * step}.
+     * @return generated item ids, in input order
+     */
+    List<Long> insertItems(Long playlistId, List<Long> trackIds, int firstPosition, int step);
+
+    /**
+     * Renumbers the whole playlist to {@code gap, 2*gap, ...} in the given order.
+     * Positions are negated first, so the unique constraint holds after every row update.
+     */
+    void rewritePositions(Long playlistId, List<Long> orderedIds, int gap);
+}
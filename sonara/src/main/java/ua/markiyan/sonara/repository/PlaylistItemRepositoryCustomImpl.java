@@ -0,0 +1,109 @@
+package ua.markiyan.sonara.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class PlaylistItemRepositoryCustomImpl implements PlaylistItemRepositoryCustom {
+
+    // ids на один UPDATE ... CASE — тримаємо кількість параметрів і розмір SQL в межах
+    static final int CASE_CHUNK = 500;
+
+    private static final String INSERT_ITEM = """
+            insert into playlist_item (playlist_id, track_id, position, added_at)
+            values (:playlistId, :trackId, :position, :addedAt)""";
+    private static final String[] ID_COLUMN = {"id"};
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    PlaylistItemRepositoryCustomImpl(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<PlaylistItemResponse> findWindow(Long playlistId, int offset, int limit) {
+        return em.createQuery("""
+                        select new ua.markiyan.sonara.dto.response.PlaylistItemResponse(pi.id, pi.playlist.id, pi.track.id, pi.position)
+                        from PlaylistItem pi
+                        where pi.playlist.id = :playlistId
+                        order by pi.position asc""", PlaylistItemResponse.class)
+                .setParameter("playlistId", playlistId)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void assignPositions(Long playlistId, List<Long> ids, int[] positions) {
+        if (ids.size() != positions.length) {
+            throw new IllegalArgumentException("Expected %d positions, got %d".formatted(ids.size(), positions.length));
+        }
+        for (int from = 0; from < ids.size(); from += CASE_CHUNK) {
+            int to = Math.min(from + CASE_CHUNK, ids.size());
+            updateCase(playlistId, ids.subList(from, to), positions, from);
+        }
+    }
+
+    @Override
+    public List<Long> insertItems(Long playlistId, List<Long> trackIds, int firstPosition, int step) {
+        if (trackIds.isEmpty()) return List.of();
+        Timestamp addedAt = Timestamp.valueOf(LocalDateTime.now()); // як @CreationTimestamp
+        SqlParameterSource[] params = new SqlParameterSource[trackIds.size()];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = new MapSqlParameterSource()
+                    .addValue("playlistId", playlistId)
+                    .addValue("trackId", trackIds.get(i))
+                    .addValue("position", Math.addExact(firstPosition, Math.multiplyExact(i, step)))
+                    .addValue("addedAt", addedAt);
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(INSERT_ITEM, params, keys, ID_COLUMN);
+        List<Long> ids = keys.getKeyList().stream()
+                .map(k -> ((Number) k.values().iterator().next()).longValue())
+                .toList();
+        if (ids.size() != params.length) {
+            throw new IllegalStateException("Expected %d generated ids, got %d".formatted(params.length, ids.size()));
+        }
+        return ids;
+    }
+
+    @Override
+    public void rewritePositions(Long playlistId, List<Long> orderedIds, int gap) {
+        em.createQuery("update PlaylistItem pi set pi.position = -pi.position where pi.playlist.id = :playlistId")
+                .setParameter("playlistId", playlistId)
+                .executeUpdate();
+        int[] positions = new int[orderedIds.size()];
+        for (int i = 0; i < positions.length; i++) positions[i] = Math.multiplyExact(i + 1, gap);
+        assignPositions(playlistId, orderedIds, positions);
+    }
+
+    /** One statement for the whole chunk: {@code set position = case id when .. then .. end}. */
+    private void updateCase(Long playlistId, List<Long> ids, int[] positions, int base) {
+        StringBuilder jpql = new StringBuilder(64 + ids.size() * 32)
+                .append("update PlaylistItem pi set pi.position = case pi.id");
+        for (int i = 0; i < ids.size(); i++) {
+            // позиції — обчислені нами int, тому інлайн; id — параметри
+            jpql.append(" when :id").append(i).append(" then ").append(positions[base + i]);
+        }
+        jpql.append(" else pi.position end where pi.playlist.id = :playlistId and pi.id in :ids");
+
+        Query update = em.createQuery(jpql.toString())
+                .setParameter("playlistId", playlistId)
+                .setParameter("ids", ids);
+        for (int i = 0; i < ids.size(); i++) update.setParameter("id" + i, ids.get(i));
+        update.executeUpdate();
+    }
+}
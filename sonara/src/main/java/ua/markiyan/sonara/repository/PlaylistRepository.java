@@ -1,11 +1,29 @@
 package ua.markiyan.sonara.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.dto.response.PlaylistResponse;
 import ua.markiyan.sonara.entity.Playlist;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
-    List<Playlist> findAllByUser_Id(Long userId);
+
+    @Query("select p.title from Playlist p where p.id = :id")
+    Optional<String> findTitleById(@Param("id") Long id);
+
+    // серіалізує зміни позицій у межах одного плейлиста
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Playlist> findLockedById(Long id);
+
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.PlaylistResponse(p.id, p.user.id, p.title, p.isPublic)
+            from Playlist p
+            where p.user.id = :userId""")
+    List<PlaylistResponse> findResponsesByUserId(@Param("userId") Long userId);
 }
 
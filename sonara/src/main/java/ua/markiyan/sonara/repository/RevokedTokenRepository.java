@@ -0,0 +1,20 @@
+package ua.markiyan.sonara.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.entity.RevokedToken;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
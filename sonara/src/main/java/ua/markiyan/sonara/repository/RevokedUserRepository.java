@@ -0,0 +1,20 @@
+package ua.markiyan.sonara.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.entity.RevokedUser;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedUserRepository extends JpaRepository<RevokedUser, Long> {
+
+    @Query("select r.userId from RevokedUser r where r.expiresAt > :now")
+    List<Long> findActiveUserIds(@Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RevokedUser r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
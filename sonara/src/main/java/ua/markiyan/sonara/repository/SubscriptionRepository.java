@@ -1,11 +1,20 @@
 package ua.markiyan.sonara.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.dto.response.SubscriptionResponse;
 import ua.markiyan.sonara.entity.Subscription;
 
 import java.util.List;
 
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
-    List<Subscription> findAllByUser_Id(Long userId);
+
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.SubscriptionResponse(
+                s.id, s.user.id, cast(s.planCode as String), cast(s.status as String))
+            from Subscription s
+            where s.user.id = :userId""")
+    List<SubscriptionResponse> findResponsesByUserId(@Param("userId") Long userId);
 }
 
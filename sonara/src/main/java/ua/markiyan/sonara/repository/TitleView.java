@@ -0,0 +1,10 @@
+package ua.markiyan.sonara.repository;
+
+/**
+ * Lightweight (id, title) projection used to build the in-memory search index
+ * without loading whole entities.
+ */
+public interface TitleView {
+    Long getId();
+    String getTitle();
+}
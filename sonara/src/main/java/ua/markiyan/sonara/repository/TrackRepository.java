@@ -1,44 +1,72 @@
 package ua.markiyan.sonara.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import ua.markiyan.sonara.entity.Album;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ua.markiyan.sonara.dto.response.TrackExportRow;
+import ua.markiyan.sonara.dto.response.TrackResponse;
 import ua.markiyan.sonara.entity.Track;
 
 
 
-public interface TrackRepository extends JpaRepository<Track, Long> {
+public interface TrackRepository extends JpaRepository<Track, Long>, JpaSpecificationExecutor<Track> {
 
     Optional<Track> findByTitleIgnoreCase(String title);
     boolean existsByTitleIgnoreCaseAndArtist_Id(String title, Long artistId);
 
     List<Track> findByAlbum_Id(Long albumId);
-    Page<Track> findByAlbum_Id(Long albumId, Pageable pageable);
     Optional<Track> findByIdAndAlbum_Id(Long trackId, Long albumId);
 
-    Page<Track> findByTitleContainingIgnoreCase(String title, Pageable pageable);
-    Page<Track> findByDurationSec(Integer durationSec, Pageable pageable);
-    Page<Track> findByExplicitFlag(Boolean explicitFlag, Pageable pageable);
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.TrackResponse(
+                t.id, t.title, t.durationSec, t.audioKey, t.explicitFlag, t.audioUrl, t.version, t.updatedAt)
+            from Track t
+            where t.album.id = :albumId and t.album.artist.id = :artistId""")
+    List<TrackResponse> findResponsesByAlbumAndArtist(@Param("albumId") Long albumId, @Param("artistId") Long artistId);
 
-    Page<Track> findByTitleContainingIgnoreCaseAndDurationSec(String title, Integer durationSec, Pageable pageable);
-    Page<Track> findByTitleContainingIgnoreCaseAndExplicitFlag(String title, Boolean explicitFlag, Pageable pageable);
-    Page<Track> findByDurationSecAndExplicitFlag(Integer durationSec, Boolean explicitFlag, Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new ua.markiyan.sonara.dto.response.TrackExportRow(
+                null, t.id, t.title, ar.name, al.title, t.durationSec, t.audioKey, t.explicitFlag)
+            from Track t join t.artist ar join t.album al
+            where al.id = :albumId and al.artist.id = :artistId
+            order by t.id asc""")
+    Stream<TrackExportRow> streamExportRows(@Param("albumId") Long albumId, @Param("artistId") Long artistId);
 
-    Page<Track> findByTitleContainingIgnoreCaseAndDurationSecAndExplicitFlag(String title, Integer durationSec, Boolean explicitFlag, Pageable pageable);
+    // для /stream: ключ без завантаження сутності
+    @Query("select t.audioKey from Track t where t.id = :id")
+    Optional<String> findAudioKeyById(@Param("id") Long id);
 
-    // --- Альбом-скоп комбінації ---
-    Page<Track> findByAlbum_IdAndTitleContainingIgnoreCase(Long albumId, String title, Pageable pageable);
-    Page<Track> findByAlbum_IdAndDurationSec(Long albumId, Integer durationSec, Pageable pageable);
-    Page<Track> findByAlbum_IdAndExplicitFlag(Long albumId, Boolean explicitFlag, Pageable pageable);
-    Page<Track> findByAlbum_IdAndTitleContainingIgnoreCaseAndDurationSec(Long albumId, String title, Integer durationSec, Pageable pageable);
-    Page<Track> findByAlbum_IdAndTitleContainingIgnoreCaseAndExplicitFlag(Long albumId, String title, Boolean explicitFlag, Pageable pageable);
-    Page<Track> findByAlbum_IdAndDurationSecAndExplicitFlag(Long albumId, Integer durationSec, Boolean explicitFlag, Pageable pageable);
-    Page<Track> findByAlbum_IdAndTitleContainingIgnoreCaseAndDurationSecAndExplicitFlag(Long albumId, String title, Integer durationSec, Boolean explicitFlag, Pageable pageable);
+    // --- для пошукового індексу ---
+    @Query("select t.id as id, t.title as title from Track t")
+    List<TitleView> findAllTitles();
+
+    @Query("select t.id from Track t where t.album.id = :albumId order by t.id")
+    List<Long> findIdsByAlbumId(@Param("albumId") Long albumId);
+
+    @Query("select t.id from Track t where t.artist.id = :artistId")
+    List<Long> findIdsByArtistId(@Param("artistId") Long artistId);
+
+    // одна IN-перевірка для масового додавання в плейлист
+    @Query("select t.id from Track t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // для масового імпорту: перевірка дублів одним запитом на артиста
+    @Query("select t.title from Track t where t.artist.id = :artistId")
+    List<String> findTitlesByArtistId(@Param("artistId") Long artistId);
 }
 
 
@@ -0,0 +1,67 @@
+package ua.markiyan.sonara.repository;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import ua.markiyan.sonara.dto.request.TrackFilter;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Track;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds one {@link Specification} out of a {@link TrackFilter}: every present filter
+ * becomes a predicate of a single WHERE clause, so any combination is one SQL statement.
+ */
+public final class TrackSpecifications {
+    private TrackSpecifications() {}
+
+    public static Specification<Track> matching(TrackFilter f) {
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+
+            if (f.hasTitle()) {
+                where.add(cb.like(cb.lower(root.get("title")), containsPattern(f.title()), '\\'));
+            }
+            if (f.durationSec() != null) {
+                where.add(cb.equal(root.get("durationSec"), f.durationSec()));
+            }
+            if (f.minDurationSec() != null) {
+                where.add(cb.greaterThanOrEqualTo(root.get("durationSec"), f.minDurationSec()));
+            }
+            if (f.maxDurationSec() != null) {
+                where.add(cb.lessThanOrEqualTo(root.get("durationSec"), f.maxDurationSec()));
+            }
+            if (f.explicitFlag() != null) {
+                where.add(cb.equal(root.get("explicitFlag"), f.explicitFlag()));
+            }
+            // FK-колонки — без join
+            if (f.albumId() != null) {
+                where.add(cb.equal(root.get("album").get("id"), f.albumId()));
+            }
+            if (f.artistId() != null) {
+                where.add(cb.equal(root.get("artist").get("id"), f.artistId()));
+            }
+            if (f.releasedFrom() != null || f.releasedTo() != null) {
+                Join<Track, Album> album = root.join("album");
+                if (f.releasedFrom() != null) {
+                    where.add(cb.greaterThanOrEqualTo(album.get("releaseDate"), f.releasedFrom()));
+                }
+                if (f.releasedTo() != null) {
+                    where.add(cb.lessThanOrEqualTo(album.get("releaseDate"), f.releasedTo()));
+                }
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+    }
+
+    static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
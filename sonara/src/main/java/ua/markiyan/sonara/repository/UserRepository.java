@@ -1,9 +1,17 @@
 package ua.markiyan.sonara.repository;
 
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ua.markiyan.sonara.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,5 +20,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Page<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String email, Pageable pageable);
 
+    // keyset-варіант того ж пошуку
+    Window<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String email,
+                                                                          ScrollPosition position, Sort sort, Limit limit);
+
     Optional<User> findByEmailIgnoreCase(String email);
+
+    // для списку відкликань: неактивних акаунтів небагато
+    @Query("select u.id from User u where u.status <> :status")
+    List<Long> findIdsByStatusNot(@Param("status") User.Status status);
+
+    @Modifying
+    @Query("update User u set u.passwordHash = :hash where lower(u.email) = lower(:email)")
+    int updatePasswordHash(@Param("email") String email, @Param("hash") String hash);
 }
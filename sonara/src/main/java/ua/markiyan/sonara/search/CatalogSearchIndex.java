@@ -0,0 +1,124 @@
+package ua.markiyan.sonara.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.markiyan.sonara.repository.AlbumRepository;
+import ua.markiyan.sonara.repository.ArtistRepository;
+import ua.markiyan.sonara.repository.TitleView;
+import ua.markiyan.sonara.repository.TrackRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * In-memory title search over the catalog (Track.title, Album.title, Artist.name).
+ * <p>
+ * Built once the application is ready and kept current by the catalog services.
+ * Index changes are applied after the surrounding transaction commits, so a rolled back
+ * write never shows up in search. Until the initial build finishes {@link #isReady()} is
+ * false and callers fall back to the database.
+ * <p>
+ * The index is local to the node: writes made by another instance only become visible
+ * after a restart, so multi-node deployments should keep the DB search path.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSearchIndex {
+
+    private final TrackRepository trackRepo;
+    private final AlbumRepository albumRepo;
+    private final ArtistRepository artistRepo;
+
+    private final NgramIndex tracks = new NgramIndex();
+    private final NgramIndex albums = new NgramIndex();
+    private final NgramIndex artists = new NgramIndex();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        ready = false;
+        load(tracks, trackRepo.findAllTitles());
+        load(albums, albumRepo.findAllTitles());
+        load(artists, artistRepo.findAllNames());
+        ready = true;
+        log.info("Catalog search index built: {} tracks, {} albums, {} artists in {} ms",
+                tracks.size(), albums.size(), artists.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Long> searchTracks(String title) { return tracks.search(title); }
+    public List<Long> searchAlbums(String title) { return albums.search(title); }
+    public List<Long> searchArtists(String name) { return artists.search(name); }
+
+    public void indexTrack(Long id, String title) { afterCommit(() -> tracks.put(id, title)); }
+    public void indexAlbum(Long id, String title) { afterCommit(() -> albums.put(id, title)); }
+    public void indexArtist(Long id, String name) { afterCommit(() -> artists.put(id, name)); }
+
+    public void removeTracks(Collection<Long> ids) { afterCommit(() -> ids.forEach(tracks::remove)); }
+    public void removeAlbums(Collection<Long> ids) { afterCommit(() -> ids.forEach(albums::remove)); }
+    public void removeArtist(Long id) { afterCommit(() -> artists.remove(id)); }
+
+    /**
+     * Turns ranked ids into a page with the usual paging contract: only the requested
+     * slice of ids is loaded from the DB (one {@code IN} query by primary key), relevance order is kept.
+     */
+    public static <E, R> Page<R> page(List<Long> rankedIds,
+                                      Pageable pageable,
+                                      Function<List<Long>, List<E>> loader,
+                                      Function<E, Long> idOf,
+                                      Function<E, R> mapper) {
+        List<Long> slice = rankedIds;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+            int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+            slice = rankedIds.subList(from, to);
+        }
+        if (slice.isEmpty()) return new PageImpl<>(List.of(), pageable, rankedIds.size());
+
+        Map<Long, E> byId = new HashMap<>();
+        for (E e : loader.apply(slice)) byId.put(idOf.apply(e), e);
+
+        List<R> content = slice.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(mapper)
+                .toList();
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    private static void load(NgramIndex index, List<TitleView> rows) {
+        index.clear();
+        rows.forEach(r -> index.put(r.getId(), r.getTitle()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
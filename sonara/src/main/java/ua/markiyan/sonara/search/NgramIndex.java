@@ -0,0 +1,125 @@
+package ua.markiyan.sonara.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index over one text field (track title, album title, artist name).
+ * Matching follows the old {@code LIKE '%q%'} semantics (case- and accent-insensitive substring),
+ * results are ranked: exact match, prefix, word prefix, then any substring.
+ * Reads are lock-free, writes are serialized (catalog writes are rare).
+ */
+final class NgramIndex {
+
+    static final int GRAM = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // id -> normalized text
+    private final Map<Long, String> docs = new ConcurrentHashMap<>();
+    // trigram -> ids of docs containing it
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    synchronized void put(Long id, String text) {
+        removeInternal(id);
+        if (text == null) return;
+        String norm = normalize(text);
+        docs.put(id, norm);
+        for (String g : grams(norm)) {
+            postings.compute(g, (k, ids) -> {
+                if (ids == null) ids = ConcurrentHashMap.newKeySet();
+                ids.add(id);
+                return ids;
+            });
+        }
+    }
+
+    synchronized void remove(Long id) {
+        removeInternal(id);
+    }
+
+    synchronized void clear() {
+        docs.clear();
+        postings.clear();
+    }
+
+    int size() {
+        return docs.size();
+    }
+
+    /**
+     * @return ids of all docs containing {@code query}, most relevant first
+     */
+    List<Long> search(String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) return List.of();
+
+        List<Hit> hits = new ArrayList<>();
+        if (q.length() < GRAM) {
+            // too short for trigrams - scan the in-memory texts, still no DB round trip
+            docs.forEach((id, text) -> {
+                if (text.contains(q)) hits.add(new Hit(id, text, score(text, q)));
+            });
+        } else {
+            Set<Long> smallest = null;
+            for (String g : grams(q)) {
+                Set<Long> ids = postings.get(g);
+                if (ids == null) return List.of();
+                if (smallest == null || ids.size() < smallest.size()) smallest = ids;
+            }
+            for (Long id : smallest) {
+                String text = docs.get(id);
+                // trigram intersection is only a filter, verify the real substring match
+                if (text != null && text.contains(q)) hits.add(new Hit(id, text, score(text, q)));
+            }
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score)
+                .thenComparingInt(h -> h.text().length())
+                .thenComparingLong(Hit::id));
+        return hits.stream().map(Hit::id).toList();
+    }
+
+    static String normalize(String s) {
+        if (s == null) return "";
+        String decomposed = Normalizer.normalize(s.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private void removeInternal(Long id) {
+        String old = docs.remove(id);
+        if (old == null) return;
+        for (String g : grams(old)) {
+            postings.computeIfPresent(g, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> grams(String s) {
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + GRAM <= s.length(); i++) {
+            out.add(s.substring(i, i + GRAM));
+        }
+        return out;
+    }
+
+    private static int score(String text, String q) {
+        if (text.equals(q)) return 0;
+        if (text.startsWith(q)) return 1;
+        int at = text.indexOf(q);
+        if (at > 0 && !Character.isLetterOrDigit(text.charAt(at - 1))) return 2;
+        return 3;
+    }
+
+    private record Hit(Long id, String text, int score) {}
+}
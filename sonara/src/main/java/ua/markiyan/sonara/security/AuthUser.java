@@ -0,0 +1,60 @@
+package ua.markiyan.sonara.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import ua.markiyan.sonara.entity.User;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of what authentication needs from a {@link User}.
+ * This is what gets cached (and put into JWT claims) - never a {@link UserDetails} instance,
+ * because Spring Security erases credentials on the object it was handed after login.
+ */
+public record AuthUser(Long id, String email, String passwordHash, User.Status status, List<String> roles) {
+
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_STATUS = "status";
+    static final String CLAIM_ROLES = "roles";
+
+    public static AuthUser of(User u) {
+        return new AuthUser(u.getId(), u.getEmail(), u.getPasswordHash(), u.getStatus(), List.of("ROLE_USER"));
+    }
+
+    /** {@code null} for tokens issued without the claim. */
+    static Long userId(Claims claims) {
+        return claims.get(CLAIM_USER_ID) instanceof Number n ? n.longValue() : null;
+    }
+
+    /**
+     * Rebuilds the principal from signed token claims; {@code null} for tokens issued without them.
+     */
+    static AuthUser fromClaims(Claims claims) {
+        Object id = claims.get(CLAIM_USER_ID);
+        Object status = claims.get(CLAIM_STATUS);
+        Object roles = claims.get(CLAIM_ROLES);
+        if (!(id instanceof Number n) || !(status instanceof String s) || !(roles instanceof List<?> r)) {
+            return null;
+        }
+        return new AuthUser(n.longValue(), claims.getSubject(), "", User.Status.valueOf(s),
+                r.stream().map(String::valueOf).toList());
+    }
+
+    public Map<String, Object> claims() {
+        return Map.of(CLAIM_USER_ID, id, CLAIM_STATUS, status.name(), CLAIM_ROLES, roles);
+    }
+
+    /** A fresh {@link UserDetails} per call, so erasing its credentials never touches the snapshot. */
+    public UserDetails toUserDetails() {
+        return org.springframework.security.core.userdetails.User.withUsername(email)
+                .password(passwordHash)
+                .authorities(roles.stream().map(SimpleGrantedAuthority::new).toList())
+                .accountExpired(false)
+                .accountLocked(false)
+                .credentialsExpired(false)
+                .disabled(status != User.Status.ACTIVE)
+                .build();
+    }
+}
@@ -1,10 +1,13 @@
 package ua.markiyan.sonara.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,34 +15,70 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ua.markiyan.sonara.observability.RequestTimings;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final RevocationList revocations;
+    // true -> principal is built from signed claims only, no DB/cache lookup per request
+    private final boolean statelessJwt;
+    private final Timer timer;
+
+    public JwtFilter(JwtUtil jwtUtil,
+                     UserDetailsService userDetailsService,
+                     RevocationList revocations,
+                     @Value("${app.security.stateless-jwt:false}") boolean statelessJwt,
+                     MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.revocations = revocations;
+        this.statelessJwt = statelessJwt;
+        this.timer = Timer.builder("jwt.filter")
+                .description("Bearer token check per request (parse, verify, principal lookup)")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                String username = jwtUtil.usernameFromToken(token);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails ud = userDetailsService.loadUserByUsername(username);
+            long started = System.nanoTime();
+            authenticate(authHeader);
+            long elapsed = System.nanoTime() - started;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) timings.addJwt(elapsed);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String authHeader) {
+        String token = authHeader.substring(7);
+        try {
+            Claims claims = jwtUtil.parseToken(token).getBody();
+            String username = claims.getSubject();
+            // бан або logout: перевірка в пам'яті, без запиту до БД
+            if (revocations.isRevoked(AuthUser.userId(claims), claims.getId())) return;
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                AuthUser fromToken = statelessJwt ? AuthUser.fromClaims(claims) : null;
+                // old tokens without status/roles claims still go through the lookup
+                UserDetails ud = fromToken != null
+                        ? fromToken.toUserDetails()
+                        : userDetailsService.loadUserByUsername(username);
+                if (ud.isEnabled()) {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
-            } catch (Exception ex) {
-                // invalid token -> clear context and continue (endpoint may reject due to missing auth)
-                SecurityContextHolder.clearContext();
             }
+        } catch (Exception ex) {
+            // invalid token -> clear context and continue (endpoint may reject due to missing auth)
+            SecurityContextHolder.clearContext();
         }
-        filterChain.doFilter(request, response);
     }
 }
-
@@ -1,32 +1,90 @@
 package ua.markiyan.sonara.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
+/**
+ * Issues and verifies HS256 access tokens. They are short-lived ({@code app.jwt.exp-ms}) and carry
+ * a {@code jti}, so a single token can be revoked; longer sessions go through refresh tokens.
+ * <p>
+ * Verified tokens are kept in a bounded cache keyed by the SHA-256 of the whole token until
+ * their {@code exp}, so a client reusing the same token pays for signature check and JSON
+ * parsing once. Only successfully verified tokens are cached; the cache runs on the same clock as
+ * verification, so a cached token stops working at its {@code exp} like an uncached one.
+ * Metrics: {@code cache.*{cache=jwt}} for hits/misses and the {@code jwt.parse} timer for the
+ * real verification cost.
+ * {@code app.jwt.cache.max-size=0} turns the cache off.
+ */
 @Component
 public class JwtUtil {
 
     private final Key key;
     private final long expMs;
+    private final LongSupplier clock;
+    // immutable and thread-safe, built once
+    private final JwtParser parser;
+    private final Cache<String, Jws<Claims>> verified;
+    private final Timer parseTimer;
 
-    public JwtUtil(@Value("${app.jwt.secret}") String secret, @Value("${app.jwt.exp-ms}") long expMs) {
+    @Autowired
+    public JwtUtil(@Value("${app.jwt.secret}") String secret,
+                   @Value("${app.jwt.exp-ms}") long expMs,
+                   @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+                   MeterRegistry meterRegistry) {
+        this(secret, expMs, cacheMaxSize, meterRegistry, System::currentTimeMillis);
+    }
+
+    /** {@code clock} in epoch millis; drives issuing, verification and cache expiry alike. */
+    JwtUtil(String secret, long expMs, long cacheMaxSize, MeterRegistry meterRegistry, LongSupplier clock) {
         if (secret == null || secret.isBlank()) {
             throw new IllegalStateException("JWT secret not configured (app.jwt.secret)");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expMs = expMs;
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).setClock(() -> new Date(clock.getAsLong())).build();
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("JWT signature verification and claims parsing (cache misses only)")
+                .register(meterRegistry);
+
+        if (cacheMaxSize > 0) {
+            this.verified = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new UntilTokenExpiry(expMs))
+                    .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt");
+        } else {
+            this.verified = null;
+        }
     }
 
     public String generateToken(String username, Map<String, Object> claims) {
-        long now = System.currentTimeMillis();
+        long now = clock.getAsLong();
         return Jwts.builder()
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .addClaims(claims)
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + expMs))
@@ -34,12 +92,66 @@ public class JwtUtil {
                 .compact();
     }
 
+    public long expiresInSeconds() {
+        return expMs / 1000;
+    }
+
+    /**
+     * @return verified claims; the instance may be shared between requests, treat it as read-only
+     */
     public Jws<Claims> parseToken(String token) throws JwtException {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        if (verified == null) return parse(token);
+        String hash = sha256(token);
+        Jws<Claims> jws = verified.getIfPresent(hash);
+        if (jws == null) {
+            jws = parse(token); // invalid token -> exception, nothing cached
+            verified.put(hash, jws);
+        }
+        return jws;
     }
 
     public String usernameFromToken(String token) {
         return parseToken(token).getBody().getSubject();
     }
-}
 
+    private Jws<Claims> parse(String token) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return parser.parseClaimsJws(token);
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 is mandatory for every JRE
+        }
+    }
+
+    /** Entry lives until the token's own {@code exp} (tokens without it: one token lifetime). */
+    private record UntilTokenExpiry(long fallbackMs) implements Expiry<String, Jws<Claims>> {
+
+        @Override
+        public long expireAfterCreate(String hash, Jws<Claims> jws, long currentTime) {
+            Date exp = jws.getBody().getExpiration();
+            long nanos = exp == null
+                    ? TimeUnit.MILLISECONDS.toNanos(fallbackMs)
+                    : TimeUnit.MILLISECONDS.toNanos(exp.getTime()) - currentTime; // ticker = той самий годинник
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String hash, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ua.markiyan.sonara.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.markiyan.sonara.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets for {@code /api/auth/login}, checked before anything is hashed.
+ * <ul>
+ *     <li>per client IP: every attempt takes a token;</li>
+ *     <li>per account: only failed attempts take one, so the owner's own logins cost nothing.
+ *     Once a guessing run empties it, every attempt for that account gets 429 until a token
+ *     comes back - the owner's too. That lockout is the price: letting the right password through
+ *     would tell the guesser which password was right.</li>
+ * </ul>
+ * A bucket holds {@code capacity} tokens and gets one back every {@code refill}. Idle buckets
+ * are dropped once they would have refilled anyway. Limits are per instance.
+ * <p>
+ * The IP is {@code request.getRemoteAddr()}. Behind a load balancer that is the balancer's address
+ * unless {@code server.forward-headers-strategy} is set (see application.properties).
+ */
+@Component
+public class LoginThrottle {
+
+    private final Limit ipLimit;
+    private final Limit accountLimit;
+    private final LongSupplier nanoClock;
+    private final Cache<String, TokenBucket> byIp;
+    private final Cache<String, TokenBucket> byAccount;
+
+    @Autowired
+    public LoginThrottle(@Value("${app.auth.throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${app.auth.throttle.ip.refill:3s}") Duration ipRefill,
+                         @Value("${app.auth.throttle.account.capacity:5}") int accountCapacity,
+                         @Value("${app.auth.throttle.account.refill:1m}") Duration accountRefill) {
+        this(new Limit(ipCapacity, ipRefill), new Limit(accountCapacity, accountRefill), System::nanoTime);
+    }
+
+    LoginThrottle(Limit ipLimit, Limit accountLimit, LongSupplier nanoClock) {
+        this.ipLimit = ipLimit;
+        this.accountLimit = accountLimit;
+        this.nanoClock = nanoClock;
+        this.byIp = buckets(ipLimit);
+        this.byAccount = buckets(accountLimit);
+    }
+
+    record Limit(int capacity, Duration refill) {}
+
+    /** Takes an IP token; rejects when either bucket is empty. */
+    public void checkAttempt(String ip, String email) {
+        long now = nanoClock.getAsLong();
+        if (!byIp.get(ip, k -> new TokenBucket(ipLimit, now)).tryTake(now)) {
+            throw new TooManyRequestsException("Too many login attempts from this address");
+        }
+        TokenBucket account = byAccount.getIfPresent(key(email));
+        if (account != null && !account.hasToken(now)) {
+            throw new TooManyRequestsException("Too many failed logins for this account");
+        }
+    }
+
+    public void failed(String email) {
+        long now = nanoClock.getAsLong();
+        byAccount.get(key(email), k -> new TokenBucket(accountLimit, now)).tryTake(now);
+    }
+
+    private static Cache<String, TokenBucket> buckets(Limit limit) {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(limit.refill().multipliedBy(limit.capacity()))
+                .build();
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static final class TokenBucket {
+        private final int capacity;
+        private final long nanosPerToken;
+        private double tokens;
+        private long last;
+
+        TokenBucket(Limit limit, long now) {
+            this.capacity = limit.capacity();
+            this.nanosPerToken = Math.max(1, limit.refill().toNanos());
+            this.tokens = capacity;
+            this.last = now;
+        }
+
+        synchronized boolean tryTake(long now) {
+            refill(now);
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized boolean hasToken(long now) {
+            refill(now);
+            return tokens >= 1;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - last) / nanosPerToken);
+            last = now;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ua.markiyan.sonara.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import ua.markiyan.sonara.exception.ServiceUnavailableException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool for password hashing (BCrypt is deliberately CPU-bound). A login burst then
+ * costs at most {@code app.auth.hashing.threads} cores instead of every request thread, and the
+ * queue is bounded: when it is full the caller gets a {@link ServiceUnavailableException} (503)
+ * right away rather than waiting behind hundreds of hashes.
+ */
+@Component
+public class PasswordHashing implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadLocal<Boolean> onPool = ThreadLocal.withInitial(() -> false);
+
+    public PasswordHashing(@Value("${app.auth.hashing.threads:0}") int threads,
+                           @Value("${app.auth.hashing.queue:64}") int queue,
+                           MeterRegistry meterRegistry) {
+        int n = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        var factory = Thread.ofPlatform().name("hashing-", 0).daemon().factory();
+        this.executor = new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queue),
+                r -> factory.newThread(() -> {
+                    onPool.set(true);
+                    r.run();
+                }),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    /** Runs {@code task} on the pool; fails fast with 503 when the queue is full. */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent sign-ins, retry shortly");
+        }
+    }
+
+    /** Blocking variant; runs inline when already on the pool (e.g. inside an async login). */
+    public <T> T call(Supplier<T> task) {
+        if (onPool.get()) return task.get();
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /** {@code encode}/{@code matches} of {@code delegate} on this pool; {@code upgradeEncoding} only parses the hash. */
+    public PasswordEncoder bound(PasswordEncoder delegate) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return call(() -> delegate.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return call(() -> delegate.matches(rawPassword, encodedPassword));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,97 @@
+package ua.markiyan.sonara.security;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory answer to "may this access token still be used?", so the per-request path never
+ * touches the DB. Holds a bitmap of user ids that are not {@code ACTIVE} or were just deleted and
+ * the {@code jti}s of access tokens revoked by logout.
+ * <p>
+ * {@link RevocationSync} replaces the contents every few seconds from the DB; that is how bans and
+ * logouts on other instances arrive. Local revocations apply at once and are kept across a couple
+ * of syncs, so a sync that read the DB just before the revoking commit does not undo them.
+ * Reads are lock-free on an immutable snapshot.
+ */
+@Component
+public class RevocationList {
+
+    private static final long LOCAL_RETENTION_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private record Snapshot(BitSet users, Set<Long> largeUserIds, Set<String> tokens) {
+
+        boolean userRevoked(long id) {
+            return id >= 0 && id <= Integer.MAX_VALUE ? users.get((int) id) : largeUserIds.contains(id);
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new BitSet(), Set.of(), Set.of());
+    // локальні відкликання: id/jti -> до якого моменту (nanoTime) їх тримати поверх синхронізації
+    private final Map<Long, Long> localUsers = new HashMap<>();
+    private final Map<String, Long> localTokens = new HashMap<>();
+
+    /** {@code userId} may be {@code null} (tokens without the claim), {@code jti} too (older tokens). */
+    public boolean isRevoked(Long userId, String jti) {
+        Snapshot s = snapshot;
+        return (userId != null && s.userRevoked(userId)) || (jti != null && s.tokens().contains(jti));
+    }
+
+    public synchronized void revokeUser(long userId) {
+        localUsers.put(userId, System.nanoTime() + LOCAL_RETENTION_NANOS);
+        snapshot = build(snapshotUsers(), snapshot.tokens());
+    }
+
+    public synchronized void revokeToken(String jti) {
+        localTokens.put(jti, System.nanoTime() + LOCAL_RETENTION_NANOS);
+        Set<String> tokens = new HashSet<>(snapshot.tokens());
+        tokens.add(jti);
+        snapshot = new Snapshot(snapshot.users(), snapshot.largeUserIds(), Set.copyOf(tokens));
+    }
+
+    /** Full state from the DB, merged with recent local revocations. */
+    public synchronized void replace(Collection<Long> inactiveUsers, Collection<String> revokedTokens) {
+        long now = System.nanoTime();
+        localUsers.values().removeIf(until -> until - now < 0);
+        localTokens.values().removeIf(until -> until - now < 0);
+
+        Set<Long> users = new HashSet<>(inactiveUsers);
+        users.addAll(localUsers.keySet());
+        Set<String> tokens = new HashSet<>(revokedTokens);
+        tokens.addAll(localTokens.keySet());
+        snapshot = build(users, tokens);
+    }
+
+    public int revokedUsers() {
+        Snapshot s = snapshot;
+        return s.users().cardinality() + s.largeUserIds().size();
+    }
+
+    public int revokedTokens() {
+        return snapshot.tokens().size();
+    }
+
+    private Set<Long> snapshotUsers() {
+        Snapshot s = snapshot;
+        Set<Long> users = new HashSet<>(s.largeUserIds());
+        s.users().stream().forEach(id -> users.add((long) id));
+        users.addAll(localUsers.keySet());
+        return users;
+    }
+
+    private static Snapshot build(Collection<Long> userIds, Collection<String> tokens) {
+        BitSet bits = new BitSet();
+        Set<Long> large = new HashSet<>();
+        for (Long id : userIds) {
+            if (id >= 0 && id <= Integer.MAX_VALUE) bits.set(id.intValue());
+            else large.add(id);
+        }
+        return new Snapshot(bits, Set.copyOf(large), Set.copyOf(tokens));
+    }
+}
@@ -0,0 +1,58 @@
+package ua.markiyan.sonara.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.User;
+import ua.markiyan.sonara.repository.RevokedTokenRepository;
+import ua.markiyan.sonara.repository.RevokedUserRepository;
+import ua.markiyan.sonara.repository.UserRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reloads the {@link RevocationList} from the DB: non-active and recently deleted users and
+ * unexpired revoked {@code jti}s.
+ * A ban therefore reaches every instance within {@code app.security.revocation-sync}
+ * (plus replica lag when read replicas are on). The first sync runs at startup;
+ * {@code app.security.revocation-sync-initial-delay} postpones it.
+ */
+@Slf4j
+@Component
+public class RevocationSync {
+
+    private final RevocationList revocations;
+    private final UserRepository users;
+    private final RevokedTokenRepository revokedTokens;
+    private final RevokedUserRepository revokedUsers;
+
+    public RevocationSync(RevocationList revocations, UserRepository users, RevokedTokenRepository revokedTokens,
+                          RevokedUserRepository revokedUsers, MeterRegistry meterRegistry) {
+        this.revocations = revocations;
+        this.users = users;
+        this.revokedTokens = revokedTokens;
+        this.revokedUsers = revokedUsers;
+        Gauge.builder("auth.revoked.users", revocations, RevocationList::revokedUsers)
+                .description("Users whose access tokens are rejected (status not ACTIVE or recently deleted)")
+                .register(meterRegistry);
+        Gauge.builder("auth.revoked.tokens", revocations, RevocationList::revokedTokens)
+                .description("Access tokens revoked by logout and not yet expired")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation-sync:5s}",
+            initialDelayString = "${app.security.revocation-sync-initial-delay:0s}")
+    @Transactional(readOnly = true)
+    public void sync() {
+        Instant now = Instant.now();
+        List<Long> userIds = new ArrayList<>(users.findIdsByStatusNot(User.Status.ACTIVE));
+        userIds.addAll(revokedUsers.findActiveUserIds(now));
+        revocations.replace(userIds, revokedTokens.findActiveJtis(now));
+        log.debug("Revocation list: {} users, {} tokens", revocations.revokedUsers(), revocations.revokedTokens());
+    }
+}
@@ -1,36 +1,66 @@
 package ua.markiyan.sonara.security;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.config.CacheConfig;
 import ua.markiyan.sonara.entity.User;
 import ua.markiyan.sonara.repository.UserRepository;
 
-import java.util.List;
+import java.util.Locale;
 
+/**
+ * Loads users by email with a short-lived cache in front of the DB, so authenticated requests
+ * don't hit the Users table each time. {@code UserServiceImpl} evicts entries when a user changes.
+ * Also stores hashes re-encoded at login when the configured BCrypt cost went up.
+ */
 @Service
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository repo;
+    private final Cache cache;
+
+    public UserDetailsServiceImpl(UserRepository repo, CacheManager cacheManager) {
+        this.repo = repo;
+        this.cache = cacheManager.getCache(CacheConfig.USER_DETAILS);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // fallback to scanning all users if repository method isn't resolved by tooling
-        User u = repo.findAll().stream()
-                .filter(x -> x.getEmail() != null && x.getEmail().equalsIgnoreCase(username))
-                .findFirst()
-                .orElseThrow(() -> new UsernameNotFoundException("User %s not found".formatted(username)));
-        return org.springframework.security.core.userdetails.User.withUsername(u.getEmail())
-                .password(u.getPasswordHash())
-                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(u.getStatus() != User.Status.ACTIVE)
-                .build();
+        return loadSnapshot(username).toUserDetails();
+    }
+
+    public AuthUser loadSnapshot(String email) throws UsernameNotFoundException {
+        String key = key(email);
+        AuthUser cached = cache.get(key, AuthUser.class);
+        if (cached != null) return cached;
+
+        User u = repo.findByEmailIgnoreCase(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User %s not found".formatted(email)));
+        AuthUser snapshot = AuthUser.of(u);
+        cache.put(key, snapshot);
+        return snapshot;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        repo.updatePasswordHash(user.getUsername(), newPassword);
+        evict(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /** Applied after commit when called inside a transaction. */
+    public void evict(String email) {
+        if (email != null) cache.evict(key(email));
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
     }
 }
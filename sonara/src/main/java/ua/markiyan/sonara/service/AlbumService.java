@@ -2,6 +2,9 @@ package ua.markiyan.sonara.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import ua.markiyan.sonara.dto.request.AlbumRequest;
 import ua.markiyan.sonara.dto.request.ArtistAlbumRequest;
 import ua.markiyan.sonara.dto.request.AlbumUpdateRequest;
@@ -18,6 +21,7 @@ public interface AlbumService {
     AlbumResponse createUnderArtist(Long artistId, ArtistAlbumRequest req);
 
     Page<AlbumResponse> search(String title, LocalDate releaseDate, Pageable pageable);
+    Window<AlbumResponse> scroll(String title, LocalDate releaseDate, ScrollPosition position, int limit, Sort sort);
 
     // updates
     AlbumResponse update(Long id, AlbumUpdateRequest req);
@@ -0,0 +1,21 @@
+package ua.markiyan.sonara.service;
+
+import ua.markiyan.sonara.dto.response.AuthResponse;
+import ua.markiyan.sonara.security.AuthUser;
+
+/**
+ * Access + refresh token pairs. Refresh tokens are single-use: each refresh rotates them, and a
+ * rotated token presented again revokes its whole family (the session is treated as stolen).
+ * Failures are {@code AuthenticationException}s (401).
+ */
+public interface AuthTokenService {
+    AuthResponse issue(AuthUser user);
+    AuthResponse refresh(String refreshToken);
+    /** Revokes the refresh token's family and, when given, the access token itself. */
+    void logout(String refreshToken, String accessToken);
+    /**
+     * Ends every session of a user that is being deleted: refresh tokens are revoked, access tokens
+     * are rejected here once the caller's transaction commits and elsewhere after the next revocation sync.
+     */
+    void revokeUser(Long userId);
+}
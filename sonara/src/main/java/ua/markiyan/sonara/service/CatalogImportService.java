@@ -0,0 +1,9 @@
+package ua.markiyan.sonara.service;
+
+import ua.markiyan.sonara.dto.response.ImportReport;
+
+import java.io.InputStream;
+
+public interface CatalogImportService {
+    ImportReport importTracks(Long artistId, InputStream ndjson);
+}
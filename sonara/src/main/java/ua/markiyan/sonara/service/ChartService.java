@@ -0,0 +1,12 @@
+package ua.markiyan.sonara.service;
+
+import ua.markiyan.sonara.dto.response.ChartResponse;
+
+/**
+ * Top tracks from the in-memory chart snapshot; reads never hit the DB.
+ */
+public interface ChartService {
+    ChartResponse global(int limit);
+    ChartResponse country(String country, int limit);
+    ChartResponse artist(Long artistId, int limit);
+}
@@ -0,0 +1,13 @@
+package ua.markiyan.sonara.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.markiyan.sonara.export.ExportFormat;
+
+/**
+ * Streaming exports. Existence is checked when the body is created, so a missing playlist
+ * or album is still a plain 404; the rows are read and written later, on the async thread.
+ */
+public interface ExportService {
+    StreamingResponseBody exportPlaylist(Long playlistId, ExportFormat format);
+    StreamingResponseBody exportAlbum(Long artistId, Long albumId, ExportFormat format);
+}
@@ -0,0 +1,11 @@
+package ua.markiyan.sonara.service;
+
+import ua.markiyan.sonara.dto.response.HomeResponse;
+
+/**
+ * Home screen in one call: playlists (with item previews), plan status and recently played tracks,
+ * fetched in parallel instead of one HTTP round trip per part.
+ */
+public interface HomeService {
+    HomeResponse home(Long userId);
+}
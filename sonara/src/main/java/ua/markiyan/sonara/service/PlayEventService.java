@@ -0,0 +1,8 @@
+package ua.markiyan.sonara.service;
+
+import ua.markiyan.sonara.dto.request.PlayEventRequest;
+
+public interface PlayEventService {
+    /** Queues the event for asynchronous persistence; never touches the DB. */
+    void record(Long userId, PlayEventRequest req);
+}
@@ -1,5 +1,7 @@
 package ua.markiyan.sonara.service;
 
+import org.springframework.data.domain.Page;
+import ua.markiyan.sonara.dto.request.PlaylistItemMoveRequest;
 import ua.markiyan.sonara.dto.request.PlaylistItemRequest;
 import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
 
@@ -7,10 +9,15 @@ import java.util.List;
 
 public interface PlaylistItemService {
     PlaylistItemResponse create(Long playlistId, PlaylistItemRequest req);
+    List<PlaylistItemResponse> addTracks(Long playlistId, List<Long> trackIds);
+    List<PlaylistItemResponse> addAlbum(Long playlistId, Long albumId);
     List<PlaylistItemResponse> list(Long playlistId);
+    /** The first {@code limit} (at least 1) items in order; the total is in {@link Page#getTotalElements()}. */
+    Page<PlaylistItemResponse> firstItems(Long playlistId, int limit);
     PlaylistItemResponse get(Long playlistId, Long itemId);
     PlaylistItemResponse update(Long playlistId, Long itemId, PlaylistItemRequest req);
     void delete(Long playlistId, Long itemId);
     void reorder(Long playlistId, java.util.List<Long> itemIds);
+    List<PlaylistItemResponse> move(Long playlistId, PlaylistItemMoveRequest req);
 }
 
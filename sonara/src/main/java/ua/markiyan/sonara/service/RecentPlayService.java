@@ -0,0 +1,13 @@
+package ua.markiyan.sonara.service;
+
+import ua.markiyan.sonara.dto.response.RecentPlayResponse;
+
+import java.util.List;
+
+/**
+ * "Recently played" / "continue listening" shelf from the in-memory rings; reads do not hit the DB
+ * once the user's ring is resident.
+ */
+public interface RecentPlayService {
+    List<RecentPlayResponse> recent(Long userId, int limit);
+}
@@ -2,7 +2,12 @@ package ua.markiyan.sonara.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import ua.markiyan.sonara.dto.request.AlbumTrackRequest;
+import ua.markiyan.sonara.dto.request.TrackFilter;
 import ua.markiyan.sonara.dto.request.TrackRequest;
 import ua.markiyan.sonara.dto.response.TrackResponse;
 import ua.markiyan.sonara.dto.request.ArtistAlbumTrackRequest;
@@ -14,6 +19,7 @@ public interface TrackService {
     TrackResponse create(TrackRequest request);      // плоский варіант (із artistId/albumId у body)
     TrackResponse create(Long albumId, AlbumTrackRequest request);
     TrackResponse get(Long id);
+    String getAudioKey(Long id);
 
     // ДЛЯ /api/artists/{artistId}/albums/{albumId}/tracks...
     TrackResponse createUnderAlbum(Long artistId, Long albumId, ArtistAlbumTrackRequest req);
@@ -21,8 +27,10 @@ public interface TrackService {
     java.util.List<TrackResponse> listByAlbum(Long albumId);
     TrackResponse getOne(Long artistId, Long albumId, Long trackId);
 
-    Page<TrackResponse> search(String title, Integer durationSec, Boolean explicitFlag, Pageable pageable);
-    Page<TrackResponse> searchInAlbum(Long albumId, String title, Integer durationSec, Boolean explicitFlag, Pageable pageable);
+    // пошук: будь-яка комбінація фільтрів — один SQL-запит
+    Page<TrackResponse> search(TrackFilter filter, Pageable pageable);
+    Slice<TrackResponse> searchSlice(TrackFilter filter, Pageable pageable);   // без COUNT(*)
+    Window<TrackResponse> scroll(TrackFilter filter, ScrollPosition position, int limit, Sort sort);   // keyset
 
     // updates
     TrackResponse update(Long id, TrackUpdateRequest req);
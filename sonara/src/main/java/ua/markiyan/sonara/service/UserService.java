@@ -2,6 +2,9 @@ package ua.markiyan.sonara.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import ua.markiyan.sonara.dto.request.UserRequest;
 import ua.markiyan.sonara.dto.request.UserUpdateRequest;
 import ua.markiyan.sonara.dto.response.UserResponse;
@@ -14,6 +17,7 @@ public interface UserService {
     void delete(Long id);
 
     Page<UserResponse> search(String q, Pageable pageable);
+    Window<UserResponse> scroll(String q, ScrollPosition position, int limit, Sort sort);
 
     UserResponse findByEmail(String email);
 }
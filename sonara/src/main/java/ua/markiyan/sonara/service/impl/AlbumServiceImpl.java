@@ -1,8 +1,13 @@
 package ua.markiyan.sonara.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.config.CacheConfig;
 import ua.markiyan.sonara.dto.request.AlbumRequest;
 import ua.markiyan.sonara.dto.request.ArtistAlbumRequest;
 import ua.markiyan.sonara.dto.request.AlbumUpdateRequest;
@@ -12,7 +17,10 @@ import ua.markiyan.sonara.entity.Artist;
 import ua.markiyan.sonara.exception.NotFoundException;
 import ua.markiyan.sonara.mapper.AlbumMapper;
 import ua.markiyan.sonara.repository.AlbumRepository;
+import ua.markiyan.sonara.repository.AlbumSpecifications;
 import ua.markiyan.sonara.repository.ArtistRepository;
+import ua.markiyan.sonara.repository.TrackRepository;
+import ua.markiyan.sonara.search.CatalogSearchIndex;
 import ua.markiyan.sonara.service.AlbumService;
 
 import java.util.List;
@@ -23,6 +31,9 @@ public class AlbumServiceImpl implements AlbumService {
 
     private final AlbumRepository albumRepo;
     private final ArtistRepository artistRepo;
+    private final TrackRepository trackRepo;
+    private final CatalogSearchIndex searchIndex;
+    private final CacheManager cacheManager;
 
     @Override
     @Transactional
@@ -36,10 +47,12 @@ public class AlbumServiceImpl implements AlbumService {
 
         Album entity = AlbumMapper.toEntity(req, artist);
         Album saved = albumRepo.save(entity);
+        searchIndex.indexAlbum(saved.getId(), saved.getTitle());
         return AlbumMapper.toResponse(saved);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ALBUMS, key = "#id")
     @Transactional(readOnly = true)
     public AlbumResponse get(Long id) {
         Album album = albumRepo.findWithArtistById(id)
@@ -50,13 +63,11 @@ public class AlbumServiceImpl implements AlbumService {
     @Override
     @Transactional(readOnly = true)
     public List<AlbumResponse> listByArtist(Long artistId) {
-        if (!artistRepo.existsById(artistId)) {
+        List<AlbumResponse> albums = albumRepo.findResponsesByArtistId(artistId);
+        if (albums.isEmpty() && !artistRepo.existsById(artistId)) {
             throw new NotFoundException("Artist %d not found".formatted(artistId));
         }
-        return albumRepo.findAllByArtist_Id(artistId)
-                .stream()
-                .map(AlbumMapper::toResponse)
-                .toList();
+        return albums;
     }
 
     @Override
@@ -80,6 +91,7 @@ public class AlbumServiceImpl implements AlbumService {
 
         Album album = AlbumMapper.toEntity(req, artist);
         Album saved = albumRepo.save(album);
+        searchIndex.indexAlbum(saved.getId(), saved.getTitle());
         return AlbumMapper.toResponse(saved);
     }
 
@@ -91,6 +103,11 @@ public class AlbumServiceImpl implements AlbumService {
         boolean hasTitle = title != null && !title.isBlank();
         boolean hasDate  = releaseDate != null;
 
+        if (hasTitle && !hasDate && pageable.getSort().isUnsorted() && searchIndex.isReady()) {
+            return CatalogSearchIndex.page(searchIndex.searchAlbums(title), pageable,
+                    albumRepo::findAllById, Album::getId, AlbumMapper::toResponse);
+        }
+
         if (hasTitle && hasDate) {
             return albumRepo
                     .findByTitleContainingIgnoreCaseAndReleaseDate(title, releaseDate, pageable)
@@ -111,6 +128,19 @@ public class AlbumServiceImpl implements AlbumService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Window<AlbumResponse> scroll(String title,
+                                                                        java.time.LocalDate releaseDate,
+                                                                        org.springframework.data.domain.ScrollPosition position,
+                                                                        int limit,
+                                                                        org.springframework.data.domain.Sort sort) {
+        return albumRepo.findBy(AlbumSpecifications.matching(title, releaseDate),
+                        q -> q.sortBy(sort).limit(limit).scroll(position))
+                .map(AlbumMapper::toResponse);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.ALBUMS, key = "#id")
     @Transactional
     public AlbumResponse update(Long id, AlbumUpdateRequest req) {
         Album a = albumRepo.findById(id)
@@ -120,15 +150,22 @@ public class AlbumServiceImpl implements AlbumService {
         if (req.releaseDate() != null) a.setReleaseDate(req.releaseDate());
         if (req.coverUrl() != null) a.setCoverUrl(req.coverUrl());
 
-        Album saved = albumRepo.save(a);
+        Album saved = albumRepo.saveAndFlush(a);
+        searchIndex.indexAlbum(saved.getId(), saved.getTitle());
         return AlbumMapper.toResponse(saved);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS, key = "#id")
     @Transactional
     public void delete(Long id) {
         if (!albumRepo.existsById(id)) throw new NotFoundException("Album %d not found".formatted(id));
+        // треки альбому видаляються каскадом — прибираємо їх з індексу і кешу теж
+        List<Long> trackIds = trackRepo.findIdsByAlbumId(id);
+        searchIndex.removeTracks(trackIds);
+        CacheConfig.evictAll(cacheManager, CacheConfig.TRACKS, trackIds);
         albumRepo.deleteById(id);
+        searchIndex.removeAlbums(List.of(id));
     }
 
 
@@ -1,24 +1,38 @@
 package ua.markiyan.sonara.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.config.CacheConfig;
 import ua.markiyan.sonara.dto.request.ArtistRequest;
 import ua.markiyan.sonara.dto.request.ArtistUpdateRequest;
 import ua.markiyan.sonara.dto.response.ArtistResponse;
 import ua.markiyan.sonara.entity.Artist;
 import ua.markiyan.sonara.exception.NotFoundException;
 import ua.markiyan.sonara.mapper.ArtistMapper;
+import ua.markiyan.sonara.repository.AlbumRepository;
 import ua.markiyan.sonara.repository.ArtistRepository;
+import ua.markiyan.sonara.repository.TrackRepository;
+import ua.markiyan.sonara.search.CatalogSearchIndex;
 import ua.markiyan.sonara.service.ArtistService;
 
+import java.util.List;
+
 
 @Service
 @RequiredArgsConstructor
 public class ArtistServiceImpl implements ArtistService {
     private final ArtistRepository repo;
+    private final AlbumRepository albumRepo;
+    private final TrackRepository trackRepo;
+    private final CatalogSearchIndex searchIndex;
+    private final CacheManager cacheManager;
 
 
     @Override
@@ -33,10 +47,12 @@ public class ArtistServiceImpl implements ArtistService {
 
 
         Artist saved = repo.save(entity);
+        searchIndex.indexArtist(saved.getId(), saved.getName());
         return ArtistMapper.toResponse(saved);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ARTISTS, key = "#id")
     @Transactional(readOnly = true)
     public ArtistResponse get(Long id) {
         Artist u = repo.findById(id)
@@ -48,12 +64,17 @@ public class ArtistServiceImpl implements ArtistService {
     public Page<ArtistResponse> search(String name, String country, Pageable pageable) {
         String n = (name == null) ? "" : name.trim();
         String c = (country == null) ? "" : country.trim();
+        if (!n.isEmpty() && c.isEmpty() && pageable.getSort().isUnsorted() && searchIndex.isReady()) {
+            return CatalogSearchIndex.page(searchIndex.searchArtists(n), pageable,
+                    repo::findAllById, Artist::getId, ArtistMapper::toResponse);
+        }
         return repo
                 .findByNameContainingIgnoreCaseAndCountryContainingIgnoreCase(n, c, pageable)
                 .map(ArtistMapper::toResponse);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.ARTISTS, key = "#id")
     @Transactional
     public ArtistResponse update(Long id, ArtistUpdateRequest req) {
         Artist a = repo.findById(id)
@@ -64,14 +85,24 @@ public class ArtistServiceImpl implements ArtistService {
         if (req.startYear() != null) a.setStartYear(req.startYear());
         if (req.bio() != null) a.setBio(req.bio());
 
-        Artist saved = repo.save(a);
+        Artist saved = repo.saveAndFlush(a);
+        searchIndex.indexArtist(saved.getId(), saved.getName());
         return ArtistMapper.toResponse(saved);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ARTISTS, key = "#id")
     @Transactional
     public void delete(Long id) {
         if (!repo.existsById(id)) throw new NotFoundException("Artist %d not found".formatted(id));
+        // альбоми і треки артиста видаляються каскадом
+        List<Long> trackIds = trackRepo.findIdsByArtistId(id);
+        List<Long> albumIds = albumRepo.findIdsByArtistId(id);
+        searchIndex.removeTracks(trackIds);
+        searchIndex.removeAlbums(albumIds);
+        CacheConfig.evictAll(cacheManager, CacheConfig.TRACKS, trackIds);
+        CacheConfig.evictAll(cacheManager, CacheConfig.ALBUMS, albumIds);
         repo.deleteById(id);
+        searchIndex.removeArtist(id);
     }
 }
@@ -0,0 +1,174 @@
+package ua.markiyan.sonara.service.impl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.markiyan.sonara.dto.response.AuthResponse;
+import ua.markiyan.sonara.entity.RefreshToken;
+import ua.markiyan.sonara.entity.RevokedToken;
+import ua.markiyan.sonara.entity.RevokedUser;
+import ua.markiyan.sonara.entity.User;
+import ua.markiyan.sonara.repository.RefreshTokenRepository;
+import ua.markiyan.sonara.repository.RevokedTokenRepository;
+import ua.markiyan.sonara.repository.RevokedUserRepository;
+import ua.markiyan.sonara.repository.UserRepository;
+import ua.markiyan.sonara.security.AuthUser;
+import ua.markiyan.sonara.security.JwtUtil;
+import ua.markiyan.sonara.security.RevocationList;
+import ua.markiyan.sonara.service.AuthTokenService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class AuthTokenServiceImpl implements AuthTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenRepository refreshTokens;
+    private final RevokedTokenRepository revokedTokens;
+    private final RevokedUserRepository revokedUsers;
+    private final UserRepository users;
+    private final RevocationList revocations;
+    private final Duration refreshTtl;
+
+    public AuthTokenServiceImpl(JwtUtil jwtUtil,
+                                RefreshTokenRepository refreshTokens,
+                                RevokedTokenRepository revokedTokens,
+                                RevokedUserRepository revokedUsers,
+                                UserRepository users,
+                                RevocationList revocations,
+                                @Value("${app.jwt.refresh-ttl:30d}") Duration refreshTtl) {
+        this.jwtUtil = jwtUtil;
+        this.refreshTokens = refreshTokens;
+        this.revokedTokens = revokedTokens;
+        this.revokedUsers = revokedUsers;
+        this.users = users;
+        this.revocations = revocations;
+        this.refreshTtl = refreshTtl;
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse issue(AuthUser user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // відкликання сім'ї має зберегтися, хоч відповідь і 401
+    @Override
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshToken current = refreshTokens.findLockedByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+        Instant now = Instant.now();
+        if (current.getRevokedAt() != null) {
+            int revoked = refreshTokens.revokeFamily(current.getFamilyId(), now);
+            log.warn("Rotated refresh token reused for user {}: family {} revoked ({} active)",
+                    current.getUserId(), current.getFamilyId(), revoked);
+            throw new BadCredentialsException("Refresh token already used");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new CredentialsExpiredException("Refresh token expired");
+        }
+        User user = users.findById(current.getUserId()).orElse(null);
+        if (user == null || user.getStatus() != User.Status.ACTIVE) {
+            refreshTokens.revokeFamily(current.getFamilyId(), now);
+            throw new DisabledException("User is not active");
+        }
+        current.setRevokedAt(now);
+        return issue(AuthUser.of(user), current.getFamilyId());
+    }
+
+    @Override
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokens.findLockedByTokenHash(hash(refreshToken))
+                    .ifPresent(t -> refreshTokens.revokeFamily(t.getFamilyId(), Instant.now()));
+        }
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtUtil.parseToken(accessToken).getBody();
+                if (claims.getId() != null) {
+                    revokedTokens.save(new RevokedToken(claims.getId(), claims.getExpiration().toInstant()));
+                    revocations.revokeToken(claims.getId());
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // прострочений або чужий токен відкликати не треба
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void revokeUser(Long userId) {
+        Instant now = Instant.now();
+        refreshTokens.revokeAllOfUser(userId, now);
+        // маркер живе, доки не спливе останній виданий до видалення access-токен
+        revokedUsers.save(new RevokedUser(userId, now.plusSeconds(jwtUtil.expiresInSeconds())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revocations.revokeUser(userId);
+                }
+            });
+        } else {
+            revocations.revokeUser(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.purge-interval:1h}", initialDelayString = "${app.jwt.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int refresh = refreshTokens.deleteExpired(now);
+        int revoked = revokedTokens.deleteExpired(now);
+        int users = revokedUsers.deleteExpired(now);
+        if (refresh + revoked + users > 0) {
+            log.debug("Purged {} refresh tokens, {} revoked tokens and {} revoked users", refresh, revoked, users);
+        }
+    }
+
+    private AuthResponse issue(AuthUser user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokens.save(RefreshToken.builder()
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .userId(user.id())
+                .expiresAt(Instant.now().plus(refreshTtl))
+                .build());
+        String accessToken = jwtUtil.generateToken(user.email(), user.claims());
+        return new AuthResponse(accessToken, refreshToken, jwtUtil.expiresInSeconds());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
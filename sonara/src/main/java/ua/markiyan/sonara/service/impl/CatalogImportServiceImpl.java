@@ -0,0 +1,253 @@
+package ua.markiyan.sonara.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.dto.request.TrackImportRow;
+import ua.markiyan.sonara.dto.response.ImportReport;
+import ua.markiyan.sonara.exception.NotFoundException;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+import ua.markiyan.sonara.repository.AlbumRepository;
+import ua.markiyan.sonara.repository.ArtistRepository;
+import ua.markiyan.sonara.repository.TrackRepository;
+import ua.markiyan.sonara.search.CatalogSearchIndex;
+import ua.markiyan.sonara.service.CatalogImportService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON catalog import with the same rules as {@code TrackServiceImpl.createUnderAlbum}
+ * (track titles unique per artist, case-insensitive), but set-based:
+ * <ul>
+ *   <li>existing track and album titles of the artist are loaded once, duplicates are checked in memory;</li>
+ *   <li>rows are written with JDBC batch inserts (IDENTITY ids switch off Hibernate batching);</li>
+ *   <li>every chunk of {@code app.import.chunk-size} rows is its own transaction, a failed chunk
+ *       is reported row by row and does not undo earlier chunks.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_ALBUM = """
+            insert into album (title, release_date, artist_id)
+            values (:title, :releaseDate, :artistId)""";
+    private static final String INSERT_TRACK = """
+            insert into track (title, duration_sec, audio_key, explicit_flag, album_id, artist_id, audio_url)
+            values (:title, :durationSec, :audioKey, :explicitFlag, :albumId, :artistId, :audioUrl)""";
+    private static final String[] ID_COLUMN = {"id"};
+
+    private final ArtistRepository artistRepo;
+    private final AlbumRepository albumRepo;
+    private final TrackRepository trackRepo;
+    private final CatalogSearchIndex searchIndex;
+    private final AudioUrlResolver audioUrls;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final int chunkSize;
+
+    public CatalogImportServiceImpl(ArtistRepository artistRepo,
+                                    AlbumRepository albumRepo,
+                                    TrackRepository trackRepo,
+                                    CatalogSearchIndex searchIndex,
+                                    AudioUrlResolver audioUrls,
+                                    NamedParameterJdbcTemplate jdbc,
+                                    PlatformTransactionManager txManager,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        this.artistRepo = artistRepo;
+        this.albumRepo = albumRepo;
+        this.trackRepo = trackRepo;
+        this.searchIndex = searchIndex;
+        this.audioUrls = audioUrls;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(TrackImportRow.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportReport importTracks(Long artistId, InputStream ndjson) {
+        if (!artistRepo.existsById(artistId)) throw new NotFoundException("Artist %d not found".formatted(artistId));
+
+        Set<String> knownTitles = new HashSet<>();
+        trackRepo.findTitlesByArtistId(artistId).forEach(t -> knownTitles.add(key(t)));
+        Map<String, Long> albumIds = new HashMap<>();
+        albumRepo.findTitlesByArtistId(artistId).forEach(a -> albumIds.putIfAbsent(key(a.getTitle()), a.getId()));
+
+        Progress progress = new Progress();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                progress.received++;
+
+                TrackImportRow row = parse(lineNo, line, progress);
+                if (row == null) continue;
+                // дубль з БД або з цього ж файлу
+                if (!knownTitles.add(key(row.title()))) {
+                    progress.error(lineNo, "Track with the same title already exists for this artist");
+                    continue;
+                }
+                chunk.add(new PendingRow(lineNo, row));
+                if (chunk.size() >= chunkSize) {
+                    flush(artistId, chunk, albumIds, knownTitles, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+        if (!chunk.isEmpty()) flush(artistId, chunk, albumIds, knownTitles, progress);
+
+        log.info("Catalog import for artist {}: {} rows, {} imported, {} failed, {} albums created",
+                artistId, progress.received, progress.imported, progress.failed, progress.albumsCreated);
+        return new ImportReport(progress.received, progress.imported, progress.failed,
+                progress.albumsCreated, List.copyOf(progress.errors));
+    }
+
+    private TrackImportRow parse(int lineNo, String line, Progress progress) {
+        TrackImportRow row;
+        try {
+            row = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            progress.error(lineNo, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<TrackImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            progress.error(lineNo, violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return row;
+    }
+
+    private void flush(Long artistId, List<PendingRow> chunk, Map<String, Long> albumIds,
+                       Set<String> knownTitles, Progress progress) {
+        try {
+            Map<String, Long> createdAlbums = tx.execute(status -> writeChunk(artistId, chunk, albumIds));
+            albumIds.putAll(createdAlbums);
+            progress.albumsCreated += createdAlbums.size();
+            progress.imported += chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("Catalog import chunk for artist {} failed (lines {}-{})", artistId,
+                    chunk.get(0).line(), chunk.get(chunk.size() - 1).line(), e);
+            for (PendingRow r : chunk) {
+                knownTitles.remove(key(r.row().title())); // чанк відкотився — назва знову вільна
+                progress.error(r.line(), "Not imported, batch failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+    }
+
+    /** @return albums created by this chunk, title key -> id */
+    private Map<String, Long> writeChunk(Long artistId, List<PendingRow> chunk, Map<String, Long> albumIds) {
+        // 1) нові альбоми — одним батчем
+        Map<String, TrackImportRow> missingAlbums = new LinkedHashMap<>();
+        for (PendingRow r : chunk) {
+            String albumKey = key(r.row().albumTitle());
+            if (!albumIds.containsKey(albumKey)) missingAlbums.putIfAbsent(albumKey, r.row());
+        }
+        Map<String, Long> created = new HashMap<>();
+        if (!missingAlbums.isEmpty()) {
+            List<TrackImportRow> firstRows = List.copyOf(missingAlbums.values());
+            SqlParameterSource[] params = firstRows.stream()
+                    .map(row -> new MapSqlParameterSource()
+                            .addValue("title", row.albumTitle().trim())
+                            .addValue("releaseDate", row.albumReleaseDate() == null ? null : Date.valueOf(row.albumReleaseDate()))
+                            .addValue("artistId", artistId))
+                    .toArray(SqlParameterSource[]::new);
+            List<Long> ids = insert(INSERT_ALBUM, params);
+            for (int i = 0; i < ids.size(); i++) {
+                TrackImportRow row = firstRows.get(i);
+                created.put(key(row.albumTitle()), ids.get(i));
+                searchIndex.indexAlbum(ids.get(i), row.albumTitle().trim());
+            }
+        }
+
+        // 2) треки — одним батчем
+        SqlParameterSource[] params = chunk.stream()
+                .map(PendingRow::row)
+                .map(row -> {
+                    String albumKey = key(row.albumTitle());
+                    Long albumId = created.containsKey(albumKey) ? created.get(albumKey) : albumIds.get(albumKey);
+                    return new MapSqlParameterSource()
+                            .addValue("title", row.title())
+                            .addValue("durationSec", row.durationSec())
+                            .addValue("audioKey", row.audioKey())
+                            .addValue("explicitFlag", row.explicitFlag())
+                            .addValue("albumId", albumId)
+                            .addValue("artistId", artistId)
+                            .addValue("audioUrl", audioUrls.canonicalUrl(row.audioKey()));
+                })
+                .toArray(SqlParameterSource[]::new);
+        List<Long> trackIds = insert(INSERT_TRACK, params);
+        for (int i = 0; i < trackIds.size(); i++) {
+            searchIndex.indexTrack(trackIds.get(i), chunk.get(i).row().title());
+        }
+        return created;
+    }
+
+    private List<Long> insert(String sql, SqlParameterSource[] params) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(sql, params, keys, ID_COLUMN);
+        List<Long> ids = keys.getKeyList().stream()
+                .map(k -> ((Number) k.values().iterator().next()).longValue())
+                .toList();
+        if (ids.size() != params.length) {
+            throw new IllegalStateException("Expected %d generated ids, got %d".formatted(params.length, ids.size()));
+        }
+        return ids;
+    }
+
+    private static String key(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingRow(int line, TrackImportRow row) {}
+
+    private static final class Progress {
+        int received;
+        int imported;
+        int failed;
+        int albumsCreated;
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        void error(int line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ImportReport.RowError(line, message));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ua.markiyan.sonara.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ua.markiyan.sonara.chart.ChartAccumulator;
+import ua.markiyan.sonara.chart.TopCharts;
+import ua.markiyan.sonara.dto.response.ChartEntryResponse;
+import ua.markiyan.sonara.dto.response.ChartResponse;
+import ua.markiyan.sonara.exception.BadRequestException;
+import ua.markiyan.sonara.service.ChartService;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChartServiceImpl implements ChartService {
+
+    private final TopCharts charts;
+
+    @Override
+    public ChartResponse global(int limit) {
+        return response("global", charts.global(checkLimit(limit)));
+    }
+
+    @Override
+    public ChartResponse country(String country, int limit) {
+        return response("country:" + ChartAccumulator.normalizeCountry(country), charts.country(country, checkLimit(limit)));
+    }
+
+    @Override
+    public ChartResponse artist(Long artistId, int limit) {
+        // невідомий артист — порожній чарт, без перевірки в БД
+        return response("artist:" + artistId, charts.artist(artistId, checkLimit(limit)));
+    }
+
+    private int checkLimit(int limit) {
+        if (limit < 1 || limit > charts.size()) {
+            throw new BadRequestException("limit must be between 1 and %d".formatted(charts.size()));
+        }
+        return limit;
+    }
+
+    private ChartResponse response(String chart, List<ChartEntryResponse> entries) {
+        return new ChartResponse(chart, charts.windowDays(), charts.refreshedAt(), entries);
+    }
+}
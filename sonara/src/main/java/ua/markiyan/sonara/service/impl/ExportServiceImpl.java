@@ -0,0 +1,74 @@
+package ua.markiyan.sonara.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.markiyan.sonara.dto.response.TrackExportRow;
+import ua.markiyan.sonara.exception.NotFoundException;
+import ua.markiyan.sonara.export.ExportFormat;
+import ua.markiyan.sonara.export.TrackExportWriter;
+import ua.markiyan.sonara.repository.AlbumRepository;
+import ua.markiyan.sonara.repository.PlaylistItemRepository;
+import ua.markiyan.sonara.repository.PlaylistRepository;
+import ua.markiyan.sonara.repository.TrackRepository;
+import ua.markiyan.sonara.service.ExportService;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private final PlaylistRepository playlistRepo;
+    private final PlaylistItemRepository itemRepo;
+    private final AlbumRepository albumRepo;
+    private final TrackRepository trackRepo;
+    private final TrackExportWriter writer;
+    private final TransactionTemplate readOnlyTx;
+
+    public ExportServiceImpl(PlaylistRepository playlistRepo,
+                             PlaylistItemRepository itemRepo,
+                             AlbumRepository albumRepo,
+                             TrackRepository trackRepo,
+                             TrackExportWriter writer,
+                             PlatformTransactionManager txManager) {
+        this.playlistRepo = playlistRepo;
+        this.itemRepo = itemRepo;
+        this.albumRepo = albumRepo;
+        this.trackRepo = trackRepo;
+        this.writer = writer;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody exportPlaylist(Long playlistId, ExportFormat format) {
+        String title = playlistRepo.findTitleById(playlistId)
+                .orElseThrow(() -> new NotFoundException("Playlist %d not found".formatted(playlistId)));
+        return stream(format, title, () -> itemRepo.streamExportRows(playlistId));
+    }
+
+    @Override
+    public StreamingResponseBody exportAlbum(Long artistId, Long albumId, ExportFormat format) {
+        String title = albumRepo.findTitleByIdAndArtistId(albumId, artistId)
+                .orElseThrow(() -> new NotFoundException("Album %d not found for artist %d".formatted(albumId, artistId)));
+        return stream(format, title, () -> trackRepo.streamExportRows(albumId, artistId));
+    }
+
+    private StreamingResponseBody stream(ExportFormat format, String title, Supplier<Stream<TrackExportRow>> rows) {
+        return out -> {
+            long started = System.nanoTime();
+            // курсор живе лише всередині транзакції, тому вона відкривається вже на потоці запису
+            Long written = readOnlyTx.execute(status -> {
+                try (Stream<TrackExportRow> stream = rows.get()) {
+                    return writer.write(format, title, stream, out);
+                }
+            });
+            log.debug("Exported {} rows of '{}' as {} in {} ms", written, title, format,
+                    (System.nanoTime() - started) / 1_000_000);
+        };
+    }
+}
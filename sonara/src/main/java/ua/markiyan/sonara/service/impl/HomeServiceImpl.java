@@ -0,0 +1,154 @@
+package ua.markiyan.sonara.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import ua.markiyan.sonara.dto.response.*;
+import ua.markiyan.sonara.dto.response.HomeResponse.PlaylistPreview;
+import ua.markiyan.sonara.dto.response.HomeResponse.RecentTrack;
+import ua.markiyan.sonara.exception.ServiceUnavailableException;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+import ua.markiyan.sonara.service.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Fans the home screen out over virtual threads: playlists, subscriptions and the tracks of the
+ * recently played shelf are loaded at once, playlist item previews as soon as the playlists are
+ * known. Each part is an ordinary service call with its own read-only transaction (and cache), so
+ * the composite costs roughly the slowest part instead of the sum of round trips, and the request
+ * is authenticated once.
+ * <p>
+ * At most {@code app.home.parallelism} parts of one request hold a DB connection at a time, so a
+ * single home screen cannot drain the pool. A failing part fails the whole request with its own
+ * error (e.g. 404 for an unknown user); the rest are cancelled.
+ */
+@Service
+public class HomeServiceImpl implements HomeService {
+
+    private static final ThreadFactory THREADS = Thread.ofVirtual().name("home-", 0).factory();
+
+    private final PlaylistService playlistService;
+    private final PlaylistItemService playlistItemService;
+    private final SubscriptionService subscriptionService;
+    private final TrackService trackService;
+    private final RecentPlayService recentPlayService;
+    private final AudioUrlResolver audioUrls;
+    private final int maxPlaylists;
+    private final int playlistItems;
+    private final int recentTracks;
+    private final int parallelism;
+    private final Duration timeout;
+
+    public HomeServiceImpl(PlaylistService playlistService,
+                           PlaylistItemService playlistItemService,
+                           SubscriptionService subscriptionService,
+                           TrackService trackService,
+                           RecentPlayService recentPlayService,
+                           AudioUrlResolver audioUrls,
+                           @Value("${app.home.playlists:10}") int maxPlaylists,
+                           @Value("${app.home.playlist-items:5}") int playlistItems,
+                           @Value("${app.home.recent:10}") int recentTracks,
+                           @Value("${app.home.parallelism:4}") int parallelism,
+                           @Value("${app.home.timeout:5s}") Duration timeout) {
+        this.playlistService = playlistService;
+        this.playlistItemService = playlistItemService;
+        this.subscriptionService = subscriptionService;
+        this.trackService = trackService;
+        this.recentPlayService = recentPlayService;
+        this.audioUrls = audioUrls;
+        this.maxPlaylists = maxPlaylists;
+        this.playlistItems = playlistItems;
+        this.recentTracks = recentTracks;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public HomeResponse home(Long userId) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Semaphore connections = new Semaphore(parallelism);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(THREADS);
+        try {
+            Future<List<PlaylistResponse>> playlists = fork(executor, connections, () -> playlistService.listByUser(userId));
+            Future<List<SubscriptionResponse>> subscriptions = fork(executor, connections, () -> subscriptionService.listByUser(userId));
+
+            // історія з пам'яті — на потоці запиту, далі по треку на задачу (зазвичай попадання в кеш каталогу)
+            var recent = recentPlayService.recent(userId, recentTracks);
+            List<Future<TrackResponse>> tracks = new ArrayList<>(recent.size());
+            for (RecentPlayResponse r : recent) tracks.add(fork(executor, connections, () -> findTrack(r.trackId())));
+
+            List<PlaylistResponse> shown = join(playlists, deadline).stream().limit(maxPlaylists).toList();
+            List<Future<Page<PlaylistItemResponse>>> items = new ArrayList<>(shown.size());
+            for (PlaylistResponse p : shown) items.add(fork(executor, connections, () -> playlistItemService.firstItems(p.id(), playlistItems)));
+
+            List<PlaylistPreview> previews = new ArrayList<>(shown.size());
+            for (int i = 0; i < shown.size(); i++) {
+                Page<PlaylistItemResponse> first = join(items.get(i), deadline);
+                previews.add(new PlaylistPreview(shown.get(i), (int) first.getTotalElements(), first.getContent()));
+            }
+            List<RecentTrack> recentShelf = new ArrayList<>(recent.size());
+            for (int i = 0; i < recent.size(); i++) {
+                TrackResponse track = join(tracks.get(i), deadline);
+                if (track == null) continue; // трек видалили після прослуховування
+                recentShelf.add(new RecentTrack(withAudioUrl(track), recent.get(i).positionSec(), recent.get(i).playedAt()));
+            }
+            return new HomeResponse(userId, currentPlan(join(subscriptions, deadline)), previews, recentShelf);
+        } finally {
+            executor.shutdownNow(); // при помилці — перериваємо решту частин
+        }
+    }
+
+    private TrackResponse findTrack(Long id) {
+        try {
+            return trackService.get(id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    // як у TrackModelAssembler: підписані URL не мають потрапляти в кеш каталогу, тож заповнюємо тут
+    private TrackResponse withAudioUrl(TrackResponse t) {
+        if (t.audioKey() == null) return t;
+        return new TrackResponse(t.id(), t.title(), t.durationSec(), t.audioKey(), t.explicitFlag(),
+                audioUrls.url(t.audioKey()), t.version(), t.updatedAt());
+    }
+
+    /** Active or trial wins over the rest; among equals the newest (highest id). */
+    private static SubscriptionResponse currentPlan(List<SubscriptionResponse> subscriptions) {
+        return subscriptions.stream()
+                .max(Comparator.comparing((SubscriptionResponse s) -> "active".equals(s.status()) || "trial".equals(s.status()))
+                        .thenComparing(SubscriptionResponse::id))
+                .orElse(null);
+    }
+
+    private static <T> Future<T> fork(ExecutorService executor, Semaphore connections, Callable<T> task) {
+        return executor.submit(() -> {
+            connections.acquire();
+            try {
+                return task.call();
+            } finally {
+                connections.release();
+            }
+        });
+    }
+
+    private static <T> T join(Future<T> part, long deadline) {
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Home screen took too long, retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Home screen request interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
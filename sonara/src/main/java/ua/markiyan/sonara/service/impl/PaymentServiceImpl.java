@@ -43,8 +43,9 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public List<PaymentResponse> listBySubscription(Long subscriptionId) {
-        if (!subscriptionRepo.existsById(subscriptionId)) throw new NotFoundException("Subscription %d not found".formatted(subscriptionId));
-        return repo.findAllBySubscription_Id(subscriptionId).stream().map(this::toResponse).toList();
+        List<PaymentResponse> payments = repo.findResponsesBySubscriptionId(subscriptionId);
+        if (payments.isEmpty() && !subscriptionRepo.existsById(subscriptionId)) throw new NotFoundException("Subscription %d not found".formatted(subscriptionId));
+        return payments;
     }
 
     @Override
@@ -57,8 +58,9 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public List<PaymentResponse> listByUser(Long userId) {
-        if (!userRepo.existsById(userId)) throw new NotFoundException("User %d not found".formatted(userId));
-        return repo.findAllByUser_Id(userId).stream().map(this::toResponse).toList();
+        List<PaymentResponse> payments = repo.findResponsesByUserId(userId);
+        if (payments.isEmpty() && !userRepo.existsById(userId)) throw new NotFoundException("User %d not found".formatted(userId));
+        return payments;
     }
 
     private PaymentResponse toResponse(Payment p) {
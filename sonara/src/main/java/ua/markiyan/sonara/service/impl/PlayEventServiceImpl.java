@@ -0,0 +1,23 @@
+package ua.markiyan.sonara.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ua.markiyan.sonara.dto.request.PlayEventRequest;
+import ua.markiyan.sonara.exception.TooManyRequestsException;
+import ua.markiyan.sonara.service.PlayEventService;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class PlayEventServiceImpl implements PlayEventService {
+
+    private final PlayEventWriter writer;
+
+    @Override
+    public void record(Long userId, PlayEventRequest req) {
+        LocalDateTime at = req.occurredAt() == null ? LocalDateTime.now() : req.occurredAt();
+        var play = new PlayEventWriter.PendingPlay(userId, req.trackId(), req.type(), req.positionSec(), at);
+        if (!writer.offer(play)) throw new TooManyRequestsException("Play event buffer is full, retry later");
+    }
+}
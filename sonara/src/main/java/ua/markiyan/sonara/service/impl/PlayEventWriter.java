@@ -0,0 +1,203 @@
+package ua.markiyan.sonara.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.chart.ChartAccumulator;
+import ua.markiyan.sonara.entity.PlayEvent;
+import ua.markiyan.sonara.recent.RecentlyPlayedStore;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer between the play API and MySQL. Request threads only {@link #offer} into the
+ * queue; a single writer thread drains it and inserts whole batches with one JDBC batch per
+ * transaction. A full queue rejects new events instead of blocking the caller.
+ * <p>
+ * Events sitting in the queue are lost if the process dies; on a normal shutdown the writer
+ * stops after the web server and flushes what is left.
+ */
+@Slf4j
+@Component
+public class PlayEventWriter implements SmartLifecycle {
+
+    // INSERT ... SELECT: подія з неіснуючим юзером/треком дає 0 рядків замість FK-помилки на весь батч
+    private static final String INSERT_PLAY = """
+            insert into play_event (user_id, track_id, type, position_sec, occurred_at)
+            select u.id, t.id, :type, :positionSec, :occurredAt
+            from users u, track t
+            where u.id = :userId and t.id = :trackId""";
+
+    public record PendingPlay(Long userId, Long trackId, PlayEvent.Type type, Integer positionSec, LocalDateTime occurredAt) {}
+
+    private final BlockingQueue<PendingPlay> queue;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ChartAccumulator charts;
+    private final RecentlyPlayedStore recent;
+    private final int batchSize;
+    private final Duration pollTimeout;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter unknownRefs;
+    private final Counter writeFailed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PlayEventWriter(NamedParameterJdbcTemplate jdbc,
+                           PlatformTransactionManager txManager,
+                           ChartAccumulator charts,
+                           RecentlyPlayedStore recent,
+                           MeterRegistry registry,
+                           @Value("${app.plays.buffer-size:100000}") int bufferSize,
+                           @Value("${app.plays.batch-size:1000}") int batchSize,
+                           @Value("${app.plays.poll-timeout:200ms}") Duration pollTimeout) {
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.charts = charts;
+        this.recent = recent;
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout;
+
+        registry.gauge("plays.queue.depth", queue, BlockingQueue::size);
+        registry.gauge("plays.queue.capacity", queue, q -> q.size() + q.remainingCapacity());
+        this.accepted = registry.counter("plays.accepted");
+        this.written = registry.counter("plays.written");
+        this.rejected = registry.counter("plays.dropped", "reason", "queue_full");
+        this.unknownRefs = registry.counter("plays.dropped", "reason", "unknown_ref");
+        this.writeFailed = registry.counter("plays.dropped", "reason", "write_failed");
+        this.flushTimer = Timer.builder("plays.flush")
+                .description("Time to write one batch of play events")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /** Never blocks; {@code false} when the buffer is full or the writer is stopped. */
+    public boolean offer(PendingPlay play) {
+        if (running && queue.offer(play)) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /** Writes everything queued so far on the calling thread; for tests and shutdown. */
+    public void drain() {
+        List<PendingPlay> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        List<PendingPlay> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingPlay first = queue.poll(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1); // під навантаженням батч наповнюється сам
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Play event writer failed", e); // потік не вмирає через один батч
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPlay> batch) {
+        SqlParameterSource[] params = batch.stream()
+                .map(p -> new MapSqlParameterSource()
+                        .addValue("userId", p.userId())
+                        .addValue("trackId", p.trackId())
+                        .addValue("type", p.type().name())
+                        .addValue("positionSec", p.positionSec())
+                        .addValue("occurredAt", Timestamp.valueOf(p.occurredAt())))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts;
+        try {
+            counts = flushTimer.record(() -> tx.execute(status -> jdbc.batchUpdate(INSERT_PLAY, params)));
+        } catch (RuntimeException e) {
+            writeFailed.increment(batch.size());
+            log.warn("Dropped {} play events, batch insert failed", batch.size(), e);
+            return;
+        }
+        List<PendingPlay> inserted = new ArrayList<>(batch.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) inserted.add(batch.get(i));
+        }
+        written.increment(inserted.size());
+        unknownRefs.increment(batch.size() - inserted.size());
+
+        // події вже в БД: збій похідних даних не робить їх втраченими і не зупиняє решту
+        try {
+            charts.record(inserted);
+        } catch (RuntimeException e) {
+            log.warn("Charts missed {} written play events", inserted.size(), e);
+        }
+        try {
+            recent.record(inserted);
+        } catch (RuntimeException e) {
+            log.warn("Recently played missed {} written play events", inserted.size(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "play-event-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(pollTimeout.toMillis() * 2 + 5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        log.info("Play event writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts before and stops after the web server, so no accepted event misses the final drain. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
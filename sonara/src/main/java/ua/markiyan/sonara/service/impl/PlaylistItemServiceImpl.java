@@ -1,48 +1,96 @@
 package ua.markiyan.sonara.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.dto.request.PlaylistItemMoveRequest;
 import ua.markiyan.sonara.dto.request.PlaylistItemRequest;
 import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
 import ua.markiyan.sonara.entity.Playlist;
 import ua.markiyan.sonara.entity.PlaylistItem;
 import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.exception.BadRequestException;
 import ua.markiyan.sonara.exception.NotFoundException;
+import ua.markiyan.sonara.repository.AlbumRepository;
 import ua.markiyan.sonara.repository.PlaylistItemRepository;
 import ua.markiyan.sonara.repository.PlaylistRepository;
 import ua.markiyan.sonara.repository.TrackRepository;
 import ua.markiyan.sonara.service.PlaylistItemService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class PlaylistItemServiceImpl implements PlaylistItemService {
 
+    // менший крок між позиціями після move — плейлист перенумеровується у фоні
+    static final int MIN_STEP = 8;
+
     private final PlaylistItemRepository itemRepo;
     private final PlaylistRepository playlistRepo;
     private final TrackRepository trackRepo;
+    private final AlbumRepository albumRepo;
+    private final PlaylistRenumberer renumberer;
 
+    /** Without a position the track is appended after the current last item. */
     @Override
     @Transactional
     public PlaylistItemResponse create(Long playlistId, PlaylistItemRequest req) {
-        Playlist p = playlistRepo.findById(playlistId).orElseThrow(() -> new NotFoundException("Playlist %d not found".formatted(playlistId)));
+        Playlist p = req.position() == null
+                ? lockPlaylist(playlistId)
+                : playlistRepo.findById(playlistId).orElseThrow(() -> new NotFoundException("Playlist %d not found".formatted(playlistId)));
         Track t = trackRepo.findById(req.trackId()).orElseThrow(() -> new NotFoundException("Track %d not found".formatted(req.trackId())));
         PlaylistItem pi = PlaylistItem.builder()
                 .playlist(p)
                 .track(t)
-                .position(req.position() == null ? 0 : req.position())
+                .position(req.position() == null ? nextPosition(playlistId, 1) : req.position())
                 .build();
         pi = itemRepo.save(pi);
         return toResponse(pi);
     }
 
+    /**
+     * Appends many tracks: one {@code IN} query validates them, one JDBC batch inserts the items.
+     */
+    @Override
+    @Transactional
+    public List<PlaylistItemResponse> addTracks(Long playlistId, List<Long> trackIds) {
+        lockPlaylist(playlistId);
+        Set<Long> existing = new HashSet<>(trackRepo.findExistingIds(new HashSet<>(trackIds)));
+        List<Long> missing = trackIds.stream().filter(id -> !existing.contains(id)).distinct().toList();
+        if (!missing.isEmpty()) throw new NotFoundException("Tracks not found: " + missing);
+        return append(playlistId, trackIds);
+    }
+
+    /** Appends all tracks of the album in track id order. */
+    @Override
+    @Transactional
+    public List<PlaylistItemResponse> addAlbum(Long playlistId, Long albumId) {
+        lockPlaylist(playlistId);
+        List<Long> trackIds = trackRepo.findIdsByAlbumId(albumId);
+        if (trackIds.isEmpty() && !albumRepo.existsById(albumId)) throw new NotFoundException("Album %d not found".formatted(albumId));
+        return append(playlistId, trackIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PlaylistItemResponse> list(Long playlistId) {
-        if (!playlistRepo.existsById(playlistId)) throw new NotFoundException("Playlist %d not found".formatted(playlistId));
-        return itemRepo.findAllByPlaylist_IdOrderByPositionAsc(playlistId).stream().map(this::toResponse).toList();
+        List<PlaylistItemResponse> items = itemRepo.findResponsesByPlaylistId(playlistId);
+        // існування перевіряємо лише для порожнього результату, звичайний шлях — один запит
+        if (items.isEmpty() && !playlistRepo.existsById(playlistId)) throw new NotFoundException("Playlist %d not found".formatted(playlistId));
+        return items;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PlaylistItemResponse> firstItems(Long playlistId, int limit) {
+        return itemRepo.findResponsesByPlaylistId(playlistId, PageRequest.of(0, limit));
     }
 
     @Override
@@ -71,18 +119,113 @@ public class PlaylistItemServiceImpl implements PlaylistItemService {
         itemRepo.deleteById(itemId);
     }
 
+    /**
+     * Full reorder: the given items first, in the given order, then the rest in their current order.
+     * Two bulk statements for the whole playlist instead of one UPDATE per item.
+     */
     @Override
     @Transactional
     public void reorder(Long playlistId, java.util.List<Long> itemIds) {
-        Playlist p = playlistRepo.findById(playlistId).orElseThrow(() -> new NotFoundException("Playlist %d not found".formatted(playlistId)));
-        java.util.List<PlaylistItem> items = itemRepo.findAllByPlaylist_IdOrderByPositionAsc(playlistId);
-        java.util.Map<Long, PlaylistItem> map = items.stream().collect(java.util.stream.Collectors.toMap(PlaylistItem::getId, x -> x));
-        for (int i = 0; i < itemIds.size(); i++) {
-            Long id = itemIds.get(i);
-            PlaylistItem it = map.get(id);
-            if (it != null) it.setPosition(i+1);
+        lockPlaylist(playlistId);
+        List<Long> current = itemRepo.findIdsInOrder(playlistId);
+        Set<Long> ordered = new LinkedHashSet<>(itemIds.size() * 2);
+        Set<Long> known = new HashSet<>(current);
+        for (Long id : itemIds) {
+            if (known.contains(id)) ordered.add(id); // чужі id ігноруємо, як і раніше
+        }
+        ordered.addAll(current);
+        itemRepo.rewritePositions(playlistId, List.copyOf(ordered), PlaylistRenumberer.GAP);
+    }
+
+    /**
+     * Moves a block of items by writing only the block: its rows get positions spread inside
+     * the gap between the new neighbours. The playlist is renumbered when that gap is too small.
+     */
+    @Override
+    @Transactional
+    public List<PlaylistItemResponse> move(Long playlistId, PlaylistItemMoveRequest req) {
+        lockPlaylist(playlistId);
+        int from = req.from(), to = req.to(), count = req.countOrOne();
+        long size = itemRepo.countByPlaylist_Id(playlistId);
+        if ((long) from + count > size || (long) to + count > size) {
+            throw new BadRequestException("Cannot move %d item(s) from %d to %d in a playlist of %d".formatted(count, from, to, size));
+        }
+        List<PlaylistItemResponse> block = itemRepo.findWindow(playlistId, from, count);
+        if (from == to) return block;
+
+        // індекс лівого сусіда в порядку без блоку, переведений у поточні індекси
+        int prevIndex = to < from ? to - 1 : to + count - 1;
+        Gap gap = gapAfter(playlistId, prevIndex);
+        long step = gap.step(count);
+        List<Long> ids = block.stream().map(PlaylistItemResponse::id).toList();
+        int[] positions = new int[count];
+        if (step < 1) {
+            // місця немає — переписуємо весь плейлист одразу в новому порядку
+            List<Long> order = new ArrayList<>(itemRepo.findIdsInOrder(playlistId));
+            order.subList(from, from + count).clear();
+            order.addAll(to, ids);
+            itemRepo.rewritePositions(playlistId, order, PlaylistRenumberer.GAP);
+            for (int i = 0; i < count; i++) positions[i] = (to + i + 1) * PlaylistRenumberer.GAP;
+        } else {
+            for (int i = 0; i < count; i++) positions[i] = (int) (gap.prev() + step * (i + 1));
+            itemRepo.assignPositions(playlistId, ids, positions);
+            if (step < MIN_STEP) renumberer.renumberLater(playlistId);
+        }
+
+        List<PlaylistItemResponse> moved = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PlaylistItemResponse it = block.get(i);
+            moved.add(new PlaylistItemResponse(it.id(), it.playlistId(), it.trackId(), positions[i]));
+        }
+        return moved;
+    }
+
+    private List<PlaylistItemResponse> append(Long playlistId, List<Long> trackIds) {
+        int first = nextPosition(playlistId, trackIds.size());
+        List<Long> ids = itemRepo.insertItems(playlistId, trackIds, first, PlaylistRenumberer.GAP);
+        List<PlaylistItemResponse> created = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            created.add(new PlaylistItemResponse(ids.get(i), playlistId, trackIds.get(i), first + i * PlaylistRenumberer.GAP));
+        }
+        return created;
+    }
+
+    /**
+     * First of {@code count} free positions after the last item. The caller holds the playlist lock,
+     * so concurrent appends cannot take the same positions.
+     */
+    private int nextPosition(Long playlistId, int count) {
+        long first = (long) itemRepo.findMaxPosition(playlistId) + PlaylistRenumberer.GAP;
+        if (first + (long) PlaylistRenumberer.GAP * Math.max(count - 1, 0) > Integer.MAX_VALUE) {
+            renumberer.renumber(playlistId); // кінець діапазону int — стискаємо позиції
+            first = (long) itemRepo.findMaxPosition(playlistId) + PlaylistRenumberer.GAP;
+        }
+        return Math.toIntExact(first);
+    }
+
+    private Playlist lockPlaylist(Long playlistId) {
+        return playlistRepo.findLockedById(playlistId).orElseThrow(() -> new NotFoundException("Playlist %d not found".formatted(playlistId)));
+    }
+
+    /** Positions of the item at {@code prevIndex} (0 before the first item) and of the one after it. */
+    private Gap gapAfter(Long playlistId, int prevIndex) {
+        if (prevIndex < 0) {
+            List<PlaylistItemResponse> first = itemRepo.findWindow(playlistId, 0, 1);
+            return new Gap(0, first.get(0).position());
+        }
+        List<PlaylistItemResponse> window = itemRepo.findWindow(playlistId, prevIndex, 2);
+        return new Gap(window.get(0).position(), window.size() > 1 ? window.get(1).position() : null);
+    }
+
+    /** Free interval between two neighbours; {@code next == null} means the end of the playlist. */
+    record Gap(int prev, Integer next) {
+        /** Distance between positions when {@code count} items are spread evenly in the gap; 0 if they do not fit. */
+        long step(int count) {
+            if (next == null) {
+                return prev + (long) PlaylistRenumberer.GAP * count <= Integer.MAX_VALUE ? PlaylistRenumberer.GAP : 0;
+            }
+            return ((long) next - prev) / (count + 1);
         }
-        itemRepo.saveAll(map.values());
     }
 
     private PlaylistItemResponse toResponse(PlaylistItem pi) {
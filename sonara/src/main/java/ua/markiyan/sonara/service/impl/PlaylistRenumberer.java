@@ -0,0 +1,84 @@
+package ua.markiyan.sonara.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.repository.PlaylistItemRepository;
+import ua.markiyan.sonara.repository.PlaylistRepository;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Spreads playlist positions back to {@link #GAP} apart. Runs inline when a move finds no free
+ * position, and in the background once the gaps around a move get small, so that the next
+ * moves stay single-row writes.
+ */
+@Slf4j
+@Component
+public class PlaylistRenumberer {
+
+    public static final int GAP = 1024;
+
+    private final PlaylistItemRepository itemRepo;
+    private final PlaylistRepository playlistRepo;
+    private final TransactionTemplate tx;
+    private final Executor executor;
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    public PlaylistRenumberer(PlaylistItemRepository itemRepo,
+                              PlaylistRepository playlistRepo,
+                              PlatformTransactionManager txManager,
+                              @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.itemRepo = itemRepo;
+        this.playlistRepo = playlistRepo;
+        this.tx = new TransactionTemplate(txManager);
+        this.executor = executor;
+    }
+
+    /** Renumbers in the current order; the caller's transaction must hold the playlist lock. */
+    public void renumber(Long playlistId) {
+        itemRepo.rewritePositions(playlistId, itemRepo.findIdsInOrder(playlistId), GAP);
+    }
+
+    /** Queues a renumber once the current transaction commits; repeated requests are coalesced. */
+    public void renumberLater(Long playlistId) {
+        if (!scheduled.add(playlistId)) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(playlistId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) submit(playlistId);
+                else scheduled.remove(playlistId);
+            }
+        });
+    }
+
+    private void submit(Long playlistId) {
+        try {
+            executor.execute(() -> {
+                try {
+                    tx.executeWithoutResult(status -> {
+                        // плейлист могли видалити, поки задача стояла в черзі
+                        if (playlistRepo.findLockedById(playlistId).isPresent()) renumber(playlistId);
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Background renumber of playlist {} failed", playlistId, e);
+                } finally {
+                    scheduled.remove(playlistId);
+                }
+            });
+        } catch (RuntimeException e) {
+            scheduled.remove(playlistId); // executor відмовив — наступний тісний move спробує знову
+            log.warn("Background renumber of playlist {} rejected", playlistId, e);
+        }
+    }
+}
@@ -37,8 +37,9 @@ public class PlaylistServiceImpl implements PlaylistService {
     @Override
     @Transactional(readOnly = true)
     public List<PlaylistResponse> listByUser(Long userId) {
-        if (!userRepo.existsById(userId)) throw new NotFoundException("User %d not found".formatted(userId));
-        return playlistRepo.findAllByUser_Id(userId).stream().map(this::toResponse).toList();
+        List<PlaylistResponse> playlists = playlistRepo.findResponsesByUserId(userId);
+        if (playlists.isEmpty() && !userRepo.existsById(userId)) throw new NotFoundException("User %d not found".formatted(userId));
+        return playlists;
     }
 
     @Override
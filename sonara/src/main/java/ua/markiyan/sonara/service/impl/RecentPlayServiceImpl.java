@@ -0,0 +1,26 @@
+package ua.markiyan.sonara.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ua.markiyan.sonara.dto.response.RecentPlayResponse;
+import ua.markiyan.sonara.exception.BadRequestException;
+import ua.markiyan.sonara.recent.RecentlyPlayedStore;
+import ua.markiyan.sonara.service.RecentPlayService;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RecentPlayServiceImpl implements RecentPlayService {
+
+    private final RecentlyPlayedStore store;
+
+    @Override
+    public List<RecentPlayResponse> recent(Long userId, int limit) {
+        if (limit < 1 || limit > store.size()) {
+            throw new BadRequestException("limit must be between 1 and %d".formatted(store.size()));
+        }
+        // невідомий юзер — порожня історія, без перевірки в БД
+        return store.recent(userId, limit);
+    }
+}
@@ -36,8 +36,9 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     @Override
     @Transactional(readOnly = true)
     public List<SubscriptionResponse> listByUser(Long userId) {
-        if (!userRepo.existsById(userId)) throw new NotFoundException("User %d not found".formatted(userId));
-        return repo.findAllByUser_Id(userId).stream().map(this::toResponse).toList();
+        List<SubscriptionResponse> subscriptions = repo.findResponsesByUserId(userId);
+        if (subscriptions.isEmpty() && !userRepo.existsById(userId)) throw new NotFoundException("User %d not found".formatted(userId));
+        return subscriptions;
     }
 
     @Override
@@ -3,20 +3,33 @@ package ua.markiyan.sonara.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.config.CacheConfig;
 import ua.markiyan.sonara.dto.request.AlbumTrackRequest;
+import ua.markiyan.sonara.dto.request.TrackFilter;
 import ua.markiyan.sonara.dto.request.TrackRequest;
 import ua.markiyan.sonara.dto.response.TrackResponse;
 import ua.markiyan.sonara.entity.Album;
 import ua.markiyan.sonara.entity.Artist;
 import ua.markiyan.sonara.entity.Track;
 import ua.markiyan.sonara.mapper.TrackMapper;
+import ua.markiyan.sonara.exception.NotFoundException;
+import ua.markiyan.sonara.media.AudioUrlResolver;
 import ua.markiyan.sonara.repository.AlbumRepository;
 import ua.markiyan.sonara.repository.ArtistRepository;
 import ua.markiyan.sonara.repository.TrackRepository;
+import ua.markiyan.sonara.repository.TrackSpecifications;
+import ua.markiyan.sonara.search.CatalogSearchIndex;
 import ua.markiyan.sonara.service.TrackService;
 import ua.markiyan.sonara.dto.request.ArtistAlbumTrackRequest;
 import ua.markiyan.sonara.dto.request.TrackUpdateRequest;
@@ -31,6 +44,8 @@ public class TrackServiceImpl implements TrackService {
     private final TrackRepository trackRepo;
     private final AlbumRepository albumRepo;
     private final ArtistRepository artistRepo;
+    private final CatalogSearchIndex searchIndex;
+    private final AudioUrlResolver audioUrls;
 
     @Override
     @Transactional
@@ -48,8 +63,9 @@ public class TrackServiceImpl implements TrackService {
                 .orElseThrow(() -> new EntityNotFoundException("Album not found: " + req.albumId()));
 
         Track track = TrackMapper.toEntity(req, album, artist);
-        track.setAudioUrl(generateAudioUrl(track.getAudioKey()));
+        track.setAudioUrl(audioUrls.canonicalUrl(track.getAudioKey()));
         track = trackRepo.save(track);
+        searchIndex.indexTrack(track.getId(), track.getTitle());
         return TrackMapper.toResponse(track);
     }
 
@@ -79,11 +95,12 @@ public class TrackServiceImpl implements TrackService {
                 .explicitFlag(Boolean.TRUE.equals(req.explicitFlag()))
                 .album(album)
                 .artist(artist)
-                .audioUrl(generateAudioUrl(req.audioKey()))
+                .audioUrl(audioUrls.canonicalUrl(req.audioKey()))
                 .build();
 
         // 5) Збереження + маппінг
         track = trackRepo.save(track);
+        searchIndex.indexTrack(track.getId(), track.getTitle());
         return TrackMapper.toResponse(track);
     }
 
@@ -91,6 +108,7 @@ public class TrackServiceImpl implements TrackService {
 
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TRACKS, key = "#id")
     @Transactional(readOnly = true)
     public TrackResponse get(Long id) {
         Track t = trackRepo.findById(id)
@@ -98,21 +116,28 @@ public class TrackServiceImpl implements TrackService {
         return TrackMapper.toResponse(t);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getAudioKey(Long id) {
+        return trackRepo.findAudioKeyById(id)
+                .orElseThrow(() -> new NotFoundException("Track not found: " + id));
+    }
+
     // ====== ДЛЯ /api/artists/{artistId}/albums/{albumId}/tracks ======
 
 
     @Override
     @Transactional(readOnly = true)
     public List<TrackResponse> listByAlbumWithArtsit(Long artistId, Long albumId) {
-        Album album = albumRepo.findById(albumId)
-                .orElseThrow(() -> new EntityNotFoundException("Album not found: " + albumId));
-        if (!album.getArtist().getId().equals(artistId)) {
-            throw new EntityNotFoundException("Album %d not found for artist %d".formatted(albumId, artistId));
+        List<TrackResponse> tracks = trackRepo.findResponsesByAlbumAndArtist(albumId, artistId);
+        if (tracks.isEmpty()) {
+            Album album = albumRepo.findById(albumId)
+                    .orElseThrow(() -> new EntityNotFoundException("Album not found: " + albumId));
+            if (!album.getArtist().getId().equals(artistId)) {
+                throw new EntityNotFoundException("Album %d not found for artist %d".formatted(albumId, artistId));
+            }
         }
-
-        return trackRepo.findByAlbum_Id(albumId).stream()
-                .map(TrackMapper::toResponse)
-                .toList();
+        return tracks;
     }
 
     @Override
@@ -146,62 +171,44 @@ public class TrackServiceImpl implements TrackService {
 
         var artist = album.getArtist();
         var track = ua.markiyan.sonara.mapper.TrackMapper.toEntity(req, album, artist);
-        track.setAudioUrl(generateAudioUrl(track.getAudioKey()));
+        track.setAudioUrl(audioUrls.canonicalUrl(track.getAudioKey()));
         track = trackRepo.save(track);
+        searchIndex.indexTrack(track.getId(), track.getTitle());
         return ua.markiyan.sonara.mapper.TrackMapper.toResponse(track);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<TrackResponse> search(String title, Integer durationSec, Boolean explicitFlag, Pageable pageable) {
-        boolean ht = title != null && !title.isBlank();
-        boolean hd = durationSec != null;
-        boolean he = explicitFlag != null;
-
-        Page<Track> page;
-        if (ht && hd && he)       page = trackRepo.findByTitleContainingIgnoreCaseAndDurationSecAndExplicitFlag(title, durationSec, explicitFlag, pageable);
-        else if (ht && hd)        page = trackRepo.findByTitleContainingIgnoreCaseAndDurationSec(title, durationSec, pageable);
-        else if (ht && he)        page = trackRepo.findByTitleContainingIgnoreCaseAndExplicitFlag(title, explicitFlag, pageable);
-        else if (hd && he)        page = trackRepo.findByDurationSecAndExplicitFlag(durationSec, explicitFlag, pageable);
-        else if (ht)              page = trackRepo.findByTitleContainingIgnoreCase(title, pageable);
-        else if (hd)              page = trackRepo.findByDurationSec(durationSec, pageable);
-        else if (he)              page = trackRepo.findByExplicitFlag(explicitFlag, pageable);
-        else                      page = trackRepo.findAll(pageable);
-
-        return page.map(TrackMapper::toResponse);
+    public Page<TrackResponse> search(TrackFilter filter, Pageable pageable) {
+        // title-only search box queries are answered from the in-memory index, ranked by relevance;
+        // an explicit sort or extra filters still go to the DB
+        if (filter.isTitleOnly() && pageable.getSort().isUnsorted() && searchIndex.isReady()) {
+            return CatalogSearchIndex.page(searchIndex.searchTracks(filter.title()), pageable,
+                    trackRepo::findAllById, Track::getId, TrackMapper::toResponse);
+        }
+        return trackRepo.findAll(TrackSpecifications.matching(filter), pageable)
+                .map(TrackMapper::toResponse);
     }
 
-    // TrackServiceImpl.java
     @Override
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public Page<TrackResponse> searchInAlbum(Long albumId, String title, Integer durationSec, Boolean explicitFlag, Pageable pageable) {
-        boolean ht = title != null && !title.isBlank();
-        boolean hd = durationSec != null;
-        boolean he = explicitFlag != null;
-
-        org.springframework.data.domain.Page<Track> page;
-        if (ht && hd && he) {
-            page = trackRepo.findByAlbum_IdAndTitleContainingIgnoreCaseAndDurationSecAndExplicitFlag(albumId, title, durationSec, explicitFlag, pageable);
-        } else if (ht && hd) {
-            page = trackRepo.findByAlbum_IdAndTitleContainingIgnoreCaseAndDurationSec(albumId, title, durationSec, pageable);
-        } else if (ht && he) {
-            page = trackRepo.findByAlbum_IdAndTitleContainingIgnoreCaseAndExplicitFlag(albumId, title, explicitFlag, pageable);
-        } else if (hd && he) {
-            page = trackRepo.findByAlbum_IdAndDurationSecAndExplicitFlag(albumId, durationSec, explicitFlag, pageable);
-        } else if (ht) {
-            page = trackRepo.findByAlbum_IdAndTitleContainingIgnoreCase(albumId, title, pageable);
-        } else if (hd) {
-            page = trackRepo.findByAlbum_IdAndDurationSec(albumId, durationSec, pageable);
-        } else if (he) {
-            page = trackRepo.findByAlbum_IdAndExplicitFlag(albumId, explicitFlag, pageable);
-        } else {
-            page = trackRepo.findByAlbum_Id(albumId, pageable);
+    @Transactional(readOnly = true)
+    public Slice<TrackResponse> searchSlice(TrackFilter filter, Pageable pageable) {
+        if (filter.isTitleOnly() && pageable.getSort().isUnsorted() && searchIndex.isReady()) {
+            return search(filter, pageable);
         }
-
-        return page.map(TrackMapper::toResponse);
+        // reads pageSize + 1 rows to know whether there is a next page, no count query
+        return trackRepo.findBy(TrackSpecifications.matching(filter),
+                        q -> q.sortBy(pageable.getSort()).slice(pageable))
+                .map(TrackMapper::toResponse);
     }
 
-
+    @Override
+    @Transactional(readOnly = true)
+    public Window<TrackResponse> scroll(TrackFilter filter, ScrollPosition position, int limit, Sort sort) {
+        return trackRepo.findBy(TrackSpecifications.matching(filter),
+                        q -> q.sortBy(sort).limit(limit).scroll(position))
+                .map(TrackMapper::toResponse);
+    }
 
     @Override
     @Transactional(readOnly = true)
@@ -214,15 +221,8 @@ public class TrackServiceImpl implements TrackService {
 
 
 
-    // ====== util ======
-    private String generateAudioUrl(String audioKey) {
-        if (audioKey == null || audioKey.isBlank()) {
-            throw new IllegalArgumentException("audioKey must not be blank");
-        }
-        return "https://cloudflare.com/" + audioKey + ".mp3";
-    }
-
     @Override
+    @CachePut(cacheNames = CacheConfig.TRACKS, key = "#id")
     @Transactional
     public TrackResponse update(Long id, TrackUpdateRequest req) {
         Track t = trackRepo.findById(id).orElseThrow(() -> new EntityNotFoundException("Track not found: " + id));
@@ -231,17 +231,21 @@ public class TrackServiceImpl implements TrackService {
         if (req.explicitFlag() != null) t.setExplicitFlag(req.explicitFlag());
         if (req.audioKey() != null) {
             t.setAudioKey(req.audioKey());
-            t.setAudioUrl(generateAudioUrl(req.audioKey()));
+            t.setAudioUrl(audioUrls.canonicalUrl(req.audioKey()));
         }
         if (req.audioUrl() != null) t.setAudioUrl(req.audioUrl());
-        Track saved = trackRepo.save(t);
+        // flush: новий version/updatedAt потрапляє у відповідь і в @CachePut (ETag)
+        Track saved = trackRepo.saveAndFlush(t);
+        searchIndex.indexTrack(saved.getId(), saved.getTitle());
         return TrackMapper.toResponse(saved);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id")
     @Transactional
     public void delete(Long id) {
         if (!trackRepo.existsById(id)) throw new EntityNotFoundException("Track not found: " + id);
         trackRepo.deleteById(id);
+        searchIndex.removeTracks(List.of(id));
     }
 }
@@ -10,7 +10,10 @@ import ua.markiyan.sonara.dto.response.UserResponse;
 import ua.markiyan.sonara.entity.User;
 import ua.markiyan.sonara.exception.NotFoundException;
 import ua.markiyan.sonara.mapper.UserMapper;
+import ua.markiyan.sonara.recent.RecentlyPlayedStore;
 import ua.markiyan.sonara.repository.UserRepository;
+import ua.markiyan.sonara.security.UserDetailsServiceImpl;
+import ua.markiyan.sonara.service.AuthTokenService;
 import ua.markiyan.sonara.service.UserService;
 
 @Service
@@ -19,9 +22,12 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository repo;
     private final PasswordEncoder encoder;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RecentlyPlayedStore recentlyPlayed;
+    private final AuthTokenService authTokens;
 
+    // без спільної транзакції: хешування (пул PasswordHashing) не тримає з'єднання з БД
     @Override
-    @Transactional
     public UserResponse create(UserRequest req) {
         if (repo.existsByNameIgnoreCase(req.name())) {
             throw new IllegalArgumentException("User with the same name already exists");
@@ -51,6 +57,7 @@ public class UserServiceImpl implements UserService {
         User u = repo.findById(id)
                 .orElseThrow(() -> new NotFoundException("User %d not found".formatted(id)));
 
+        userDetailsService.evict(u.getEmail());
         if (req.email() != null && !req.email().isBlank()) u.setEmail(req.email());
         if (req.name() != null && !req.name().isBlank()) u.setName(req.name());
         if (req.country() != null) u.setCountry(req.country());
@@ -67,11 +74,27 @@ public class UserServiceImpl implements UserService {
                 .map(UserMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Window<UserResponse> scroll(String q,
+                                                                       org.springframework.data.domain.ScrollPosition position,
+                                                                       int limit,
+                                                                       org.springframework.data.domain.Sort sort) {
+        String pattern = (q == null) ? "" : q.trim();
+        return repo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(pattern, pattern, position, sort,
+                        org.springframework.data.domain.Limit.of(limit))
+                .map(UserMapper::toResponse);
+    }
+
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!repo.existsById(id)) throw new NotFoundException("User %d not found".formatted(id));
-        repo.deleteById(id);
+        User u = repo.findById(id)
+                .orElseThrow(() -> new NotFoundException("User %d not found".formatted(id)));
+        repo.delete(u);
+        authTokens.revokeUser(id); // без цього access-токен видаленого юзера жив би до exp
+        recentlyPlayed.forget(id);
+        userDetailsService.evict(u.getEmail());
     }
 
     @Override
@@ -0,0 +1,34 @@
+package ua.markiyan.sonara.chart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTest {
+
+    @Test
+    void keepsLargestScores_tiesToSmallerId() {
+        TopK top = new TopK(3);
+        top.offer(1, 5);
+        top.offer(2, 50);
+        top.offer(3, 7);
+        top.offer(4, 7);
+        top.offer(5, 1);
+        top.offer(6, 7);
+
+        assertThat(top.sorted()).extracting(TopK.Scored::id).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void shardedCounter_drainReturnsSumsAndResets() {
+        ShardedCounter<String> counter = new ShardedCounter<>(4);
+        counter.add("a", 1);
+        counter.add("b", 2);
+        counter.add("a", 3);
+
+        assertThat(counter.drain()).isEqualTo(Map.of("a", 4L, "b", 2L));
+        assertThat(counter.drain()).isEmpty();
+    }
+}
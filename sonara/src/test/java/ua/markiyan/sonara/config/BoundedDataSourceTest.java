@@ -0,0 +1,46 @@
+package ua.markiyan.sonara.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    @Test
+    void permitIsHeldUntilClose_andReleasedOnce() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        BoundedDataSource ds = new BoundedDataSource(pool, 2, 50);
+
+        Connection first = ds.getConnection();
+        Connection second = ds.getConnection();
+        assertThat(ds.availablePermits()).isZero();
+        assertThatThrownBy(ds::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close(); // повторний close не видає зайвий дозвіл
+        assertThat(first.isClosed()).isTrue();
+        assertThat(ds.availablePermits()).isEqualTo(1);
+
+        ds.getConnection();
+        second.close();
+        assertThat(ds.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void failedPoolCheckout_returnsPermit() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool timeout"));
+        BoundedDataSource ds = new BoundedDataSource(pool, 1, 50);
+
+        assertThatThrownBy(ds::getConnection).hasMessage("pool timeout");
+        assertThat(ds.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,67 @@
+package ua.markiyan.sonara.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full wiring with JPA. The test database doubles as its own replica, so what is checked is
+ * which pool the transaction's connection is taken from.
+ */
+@SpringBootTest(properties = "app.datasource.replicas[0].url=jdbc:h2:mem:sonara_test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void readOnlyJpaTransactions_useReplicaPool() {
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(replicaDataSource.healthyReplicas()).isEqualTo(1);
+
+        TransactionTemplate readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+        Integer inReadOnly = readOnly.execute(s -> replicaConnectionsDuringQuery());
+        Integer inReadWrite = new TransactionTemplate(txManager).execute(s -> replicaConnectionsDuringQuery());
+
+        assertThat(inReadOnly).isEqualTo(1);
+        assertThat(inReadWrite).isZero();
+        assertThat(activeReplicaConnections()).isZero(); // повернуто в пул після транзакції
+    }
+
+    @Test
+    void replicaPool_failsFastOnCheckout() {
+        HikariDataSource pool = (HikariDataSource) replicaDataSource.replicas().get(0).dataSource();
+        assertThat(pool.getConnectionTimeout()).isEqualTo(2_000);
+    }
+
+    private int replicaConnectionsDuringQuery() {
+        em.createQuery("select count(t) from Track t").getSingleResult();
+        return activeReplicaConnections();
+    }
+
+    private int activeReplicaConnections() {
+        HikariDataSource pool = (HikariDataSource) replicaDataSource.replicas().get(0).dataSource();
+        return pool.getHikariPoolMXBean().getActiveConnections();
+    }
+}
@@ -0,0 +1,98 @@
+package ua.markiyan.sonara.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing over three separate H2 databases standing in for a primary and two replicas.
+ */
+class ReplicaDataSourceTest {
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replicaA;
+    private ReplicaDataSource replicas;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("rr_primary");
+        replicaA = h2("rr_replica_a");
+        DriverManagerDataSource replicaB = h2("rr_replica_b");
+        replicas = new ReplicaDataSource(primary,
+                List.of(new ReplicaDataSource.Replica("a", replicaA), new ReplicaDataSource.Replica("b", replicaB)),
+                "select seconds from lag", Duration.ofSeconds(10));
+        replicas.checkHealth();
+
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replicas);
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactions_roundRobinOverReplicas_writesGoToPrimary() {
+        assertThat(List.of(readOnlyHost(), readOnlyHost(), readOnlyHost(), readOnlyHost()))
+                .containsExactly("rr_replica_a", "rr_replica_b", "rr_replica_a", "rr_replica_b");
+        String writer = readWrite.execute(s -> host());
+        assertThat(writer).isEqualTo("rr_primary");
+        assertThat(host()).isEqualTo("rr_primary"); // поза транзакцією
+    }
+
+    @Test
+    void laggingReplicas_areSkipped_untilTheyCatchUp() {
+        new JdbcTemplate(replicaA).update("update lag set seconds = 60");
+        replicas.checkHealth();
+        assertThat(replicas.healthyReplicas()).isEqualTo(1);
+        assertThat(List.of(readOnlyHost(), readOnlyHost())).containsOnly("rr_replica_b");
+
+        new JdbcTemplate(replicaA).update("update lag set seconds = 0");
+        replicas.checkHealth();
+        assertThat(replicas.healthyReplicas()).isEqualTo(2);
+    }
+
+    @Test
+    void noHealthyReplica_fallsBackToPrimary() {
+        new JdbcTemplate(replicaA).update("update lag set seconds = null");
+        new JdbcTemplate(h2("rr_replica_b")).update("drop table lag");
+        replicas.checkHealth();
+
+        assertThat(replicas.healthyReplicas()).isZero();
+        assertThat(readOnlyHost()).isEqualTo("rr_primary");
+        assertThat(replicas.fallbacks()).isEqualTo(1);
+    }
+
+    private String readOnlyHost() {
+        return readOnly.execute(s -> host());
+    }
+
+    private String host() {
+        return jdbc.queryForObject("select name from whoami", String.class);
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource ds = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table if not exists whoami (name varchar(32))");
+        jdbc.execute("create table if not exists lag (seconds bigint)");
+        jdbc.update("delete from whoami");
+        jdbc.update("delete from lag");
+        jdbc.update("insert into whoami values (?)", name);
+        jdbc.update("insert into lag values (0)");
+        return ds;
+    }
+}
@@ -0,0 +1,33 @@
+package ua.markiyan.sonara.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsConfigIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void hikariPoolIsWrapped_withPoolSizePermits() {
+        assertThat(dataSource).isInstanceOf(BoundedDataSource.class);
+        assertThat(((BoundedDataSource) dataSource).availablePermits()).isEqualTo(10); // розмір пулу Hikari за замовчуванням
+
+        assertThat(jdbc.queryForObject("select 1", Integer.class)).isEqualTo(1);
+        assertThat(((BoundedDataSource) dataSource).availablePermits()).isEqualTo(10); // дозвіл повернуто після close
+    }
+}
@@ -1,6 +1,7 @@
 package ua.markiyan.sonara.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,22 +9,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.markiyan.sonara.dto.request.UserRequest;
+import ua.markiyan.sonara.dto.response.UserResponse;
 import ua.markiyan.sonara.repository.UserRepository;
+import ua.markiyan.sonara.security.UserDetailsServiceImpl;
 import ua.markiyan.sonara.service.UserService;
 
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
-@Transactional
+// не @Transactional: логін виконується на пулі хешування, поза транзакцією тесту
 class AuthControllerIntegrationTest {
 
     @Autowired
@@ -38,6 +45,14 @@ class AuthControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private UserResponse createdUser;
+
     @BeforeEach
     void setUp() {
         System.out.println("\n=== [SETUP] Початок створення тестового користувача ===");
@@ -49,10 +64,15 @@ class AuthControllerIntegrationTest {
                 "Ukraine"
         );
 
-        var createdUser = userService.create(signup);
+        createdUser = userService.create(signup);
         System.out.println("=== [SETUP] Користувача створено успішно: " + createdUser.email() + " ===");
     }
 
+    @AfterEach
+    void tearDown() {
+        userService.delete(createdUser.id());
+    }
+
     @Test
     void shouldReturnToken_WhenCredentialsAreValid() throws Exception {
         System.out.println("\n--- [TEST] Старт тесту: Успішний логін ---");
@@ -70,9 +90,7 @@ class AuthControllerIntegrationTest {
 
         System.out.println("[REQUEST] Відправка POST запиту на /api/auth/login з email: " + loginReq.get("email"));
 
-        mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(loginReq)))
+        mockMvc.perform(asyncDispatch(login(loginReq)))
                 .andDo(result -> {
                     // Виводимо тіло відповіді, щоб побачити токен
                     String response = result.getResponse().getContentAsString();
@@ -98,9 +116,7 @@ class AuthControllerIntegrationTest {
 
         System.out.println("[REQUEST] Спроба логіну під неіснуючим юзером: " + invalidCredentials.get("email"));
 
-        mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidCredentials)))
+        mockMvc.perform(asyncDispatch(login(invalidCredentials)))
                 .andDo(result -> {
                     System.out.println("[RESPONSE] Очікуваний статус 401. Отримано: " + result.getResponse().getStatus());
                 })
@@ -108,4 +124,44 @@ class AuthControllerIntegrationTest {
 
         System.out.println("--- [TEST] Тест 401 ЗАВЕРШЕНО ---");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturn429_AfterTooManyFailedAttemptsForAccount() throws Exception {
+        Map<String, String> guess = Map.of("email", "victim@sonara.com", "password", "guess");
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(asyncDispatch(login(guess))).andExpect(status().isUnauthorized());
+        }
+        // кошик акаунта порожній — відмова ще до хешування, без async
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(guess)))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void shouldRehashPassword_WhenStoredCostIsLower() throws Exception {
+        String weakHash = new BCryptPasswordEncoder(4).encode("correct_password");
+        new TransactionTemplate(txManager).executeWithoutResult(s ->
+                userRepository.updatePasswordHash("boss@sonara.com", weakHash));
+        userDetailsService.evict("boss@sonara.com");
+
+        mockMvc.perform(asyncDispatch(login(Map.of("email", "boss@sonara.com", "password", "correct_password"))))
+                .andExpect(status().isOk());
+
+        String stored = userRepository.findByEmailIgnoreCase("boss@sonara.com").orElseThrow().getPasswordHash();
+        assertThat(stored).startsWith("$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches("correct_password", stored)).isTrue();
+    }
+
+    /** Login is async: checks the dispatch started and returns its result for {@code asyncDispatch}. */
+    private MvcResult login(Map<String, String> credentials) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(credentials)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -0,0 +1,179 @@
+package ua.markiyan.sonara.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.dto.request.UserRequest;
+import ua.markiyan.sonara.dto.response.UserResponse;
+import ua.markiyan.sonara.entity.User;
+import ua.markiyan.sonara.repository.RevokedTokenRepository;
+import ua.markiyan.sonara.repository.RevokedUserRepository;
+import ua.markiyan.sonara.repository.UserRepository;
+import ua.markiyan.sonara.security.RevocationList;
+import ua.markiyan.sonara.security.RevocationSync;
+import ua.markiyan.sonara.service.UserService;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not {@code @Transactional}: login runs on the hashing pool and the revocation sync in its own transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthTokenIntegrationTest {
+
+    private static final String EMAIL = "tokens@sonara.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RevocationSync revocationSync;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RevokedUserRepository revokedUserRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new UserRequest(EMAIL, "tokens_password", "Tokens", "UA"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(txManager).executeWithoutResult(s ->
+                em.createQuery("delete from RefreshToken t where t.userId = :id").setParameter("id", user.id()).executeUpdate());
+        if (userRepository.existsById(user.id())) userService.delete(user.id());
+        revocationSync.sync();
+    }
+
+    @Test
+    void refresh_rotates_andReuseRevokesFamily() throws Exception {
+        JsonNode login = login();
+        assertThat(login.get("expiresIn").asLong()).isEqualTo(86_400); // app.jwt.exp-ms тестового профілю
+        String first = login.get("refreshToken").asText();
+
+        JsonNode rotated = json(refresh(first).andExpect(status().isOk()));
+        String second = rotated.get("refreshToken").asText();
+        assertThat(second).isNotEqualTo(first);
+        me(rotated.get("token").asText()).andExpect(status().isOk());
+
+        refresh(first).andExpect(status().isUnauthorized());  // повторне використання
+        refresh(second).andExpect(status().isUnauthorized()); // сім'я відкликана
+    }
+
+    @Test
+    void logout_revokesAccessAndRefreshToken() throws Exception {
+        JsonNode login = login();
+        String access = login.get("token").asText();
+        me(access).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + access)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", login.get("refreshToken").asText()))))
+                .andExpect(status().isNoContent());
+
+        me(access).andExpect(status().isForbidden());
+        revocationSync.sync(); // відкликання збережене в БД і переживає синхронізацію
+        me(access).andExpect(status().isForbidden());
+        refresh(login.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void ban_appliesAfterSync_withoutUserLookups() throws Exception {
+        JsonNode login = login();
+        String access = login.get("token").asText();
+        me(access).andExpect(status().isOk());
+
+        new TransactionTemplate(txManager).executeWithoutResult(s ->
+                em.createQuery("update User u set u.status = :status where u.id = :id")
+                        .setParameter("status", User.Status.BANNED).setParameter("id", user.id()).executeUpdate());
+        me(access).andExpect(status().isOk()); // токен ще не знає про бан
+
+        revocationSync.sync();
+        me(access).andExpect(status().isForbidden());
+        refresh(login.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void delete_revokesSessions_hereAndOnOtherInstances() throws Exception {
+        JsonNode login = login();
+        String access = login.get("token").asText();
+        me(access).andExpect(status().isOk());
+
+        userService.delete(user.id());
+
+        me(access).andExpect(status().isForbidden()); // локально — одразу після коміту
+        refresh(login.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+        revocationSync.sync(); // юзера в users вже немає, тримає маркер
+        me(access).andExpect(status().isForbidden());
+
+        // інший інстанс нічого не чув про видалення і бачить його лише через БД
+        RevocationList other = new RevocationList();
+        new RevocationSync(other, userRepository, revokedTokenRepository, revokedUserRepository, new SimpleMeterRegistry()).sync();
+        assertThat(other.isRevoked(user.id(), null)).isTrue();
+    }
+
+    private JsonNode login() throws Exception {
+        var result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", EMAIL, "password", "tokens_password"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return json(mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))));
+    }
+
+    private ResultActions me(String accessToken) throws Exception {
+        return mockMvc.perform(get("/api/users/{id}", user.id()).header("Authorization", "Bearer " + accessToken));
+    }
+
+    private JsonNode json(ResultActions actions) throws Exception {
+        return objectMapper.readTree(actions.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,154 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.config.CacheConfig;
+import ua.markiyan.sonara.dto.request.AlbumUpdateRequest;
+import ua.markiyan.sonara.dto.request.TrackUpdateRequest;
+import ua.markiyan.sonara.dto.response.TrackResponse;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.service.AlbumService;
+import ua.markiyan.sonara.service.ArtistService;
+import ua.markiyan.sonara.service.TrackService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+/**
+ * Catalog caches: hits, {@code @CachePut} on update, eviction of cascaded rows on delete, and the
+ * version guard against a late put from a read that started before an update. Not {@code @Transactional}:
+ * puts and evictions are applied after commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogCacheIntegrationTest {
+
+    @Autowired
+    private TrackService trackService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private ArtistService artistService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+    private Album second;
+    private Track secondTrack;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(s -> {
+            catalog = CatalogFixture.create(em, "Cached", 2);
+            second = persist(em, Album.builder().title("Cached B-Sides").artist(catalog.artist).build());
+            secondTrack = persist(em, Track.builder().title("Cached B-Side").durationSec(200)
+                    .audioKey("cached-b").audioUrl("/media/cached-b.mp3").album(second).artist(catalog.artist).build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> catalog.delete(em));
+        // поза транзакцією evict застосовується одразу
+        for (String name : new String[]{CacheConfig.TRACKS, CacheConfig.ALBUMS, CacheConfig.ARTISTS}) {
+            cacheManager.getCache(name).clear();
+        }
+    }
+
+    @Test
+    void secondGet_isAHit() {
+        Long id = catalog.tracks.get(0).getId();
+        TrackResponse first = trackService.get(id);
+
+        assertThat(tracks().get(id, TrackResponse.class)).isSameAs(first);
+        assertThat(trackService.get(id)).isSameAs(first);
+    }
+
+    @Test
+    void update_replacesTheEntry() {
+        Long id = catalog.tracks.get(0).getId();
+        TrackResponse before = trackService.get(id);
+
+        TrackResponse updated = trackService.update(id, new TrackUpdateRequest("Cached Remix", null, null, null, null));
+
+        TrackResponse cached = tracks().get(id, TrackResponse.class);
+        assertThat(cached).isSameAs(updated);
+        assertThat(cached.title()).isEqualTo("Cached Remix");
+        assertThat(cached.version()).isGreaterThan(before.version());
+        assertThat(trackService.get(id)).isSameAs(updated);
+    }
+
+    @Test
+    void latePutOfAnOlderVersion_keepsTheNewerEntry() {
+        Long id = catalog.tracks.get(0).getId();
+        TrackResponse stale = trackService.get(id);
+        TrackResponse updated = trackService.update(id, new TrackUpdateRequest("Cached Remix", null, null, null, null));
+
+        // відкладений put читання, яке почалося до update, приходить після його @CachePut
+        tracks().put(id, stale);
+
+        assertThat(tracks().get(id, TrackResponse.class)).isSameAs(updated);
+    }
+
+    @Test
+    void albumUpdate_thenDelete_evictsTheAlbumAndItsTracks() {
+        Long albumId = catalog.album.getId();
+        albumService.get(albumId);
+        albumService.update(albumId, new AlbumUpdateRequest("Cached Reissue", null, null));
+        catalog.tracks.forEach(t -> trackService.get(t.getId()));
+        trackService.get(secondTrack.getId());
+
+        albumService.delete(albumId);
+
+        assertThat(albums().get(albumId)).isNull();
+        catalog.tracks.forEach(t -> assertThat(tracks().get(t.getId())).isNull());
+        assertThat(tracks().get(secondTrack.getId())).isNotNull();
+    }
+
+    @Test
+    void artistDelete_evictsItsAlbumsAndTracks() {
+        Long artistId = catalog.artist.getId();
+        artistService.get(artistId);
+        albumService.get(catalog.album.getId());
+        albumService.get(second.getId());
+        catalog.tracks.forEach(t -> trackService.get(t.getId()));
+        trackService.get(secondTrack.getId());
+
+        artistService.delete(artistId);
+
+        assertThat(cacheManager.getCache(CacheConfig.ARTISTS).get(artistId)).isNull();
+        assertThat(albums().get(catalog.album.getId())).isNull();
+        assertThat(albums().get(second.getId())).isNull();
+        catalog.tracks.forEach(t -> assertThat(tracks().get(t.getId())).isNull());
+        assertThat(tracks().get(secondTrack.getId())).isNull();
+    }
+
+    private Cache tracks() {
+        return cacheManager.getCache(CacheConfig.TRACKS);
+    }
+
+    private Cache albums() {
+        return cacheManager.getCache(CacheConfig.ALBUMS);
+    }
+}
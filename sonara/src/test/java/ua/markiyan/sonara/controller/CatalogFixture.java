@@ -0,0 +1,65 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Artist;
+import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * What most integration tests start from: a user plus an artist with one album of numbered tracks.
+ * Everything is derived from one name ({@code plays@sonara.com}, "Plays Artist", "Plays Song 1", ...).
+ * {@link #create} and {@link #delete} run in the caller's transaction; rows that point at the
+ * fixture (playlists, items, ...) are the test's to delete before {@link #delete}.
+ */
+final class CatalogFixture {
+
+    final User user;
+    final Artist artist;
+    final Album album;
+    /** In track number order: {@code tracks.get(0)} is "Song 1". */
+    final List<Track> tracks;
+
+    private CatalogFixture(User user, Artist artist, Album album, List<Track> tracks) {
+        this.user = user;
+        this.artist = artist;
+        this.album = album;
+        this.tracks = tracks;
+    }
+
+    static CatalogFixture create(EntityManager em, String name, int tracks) {
+        return create(em, name, tracks, (track, n) -> {});
+    }
+
+    /** {@code customizer} gets each track's builder and its 1-based number before the track is persisted. */
+    static CatalogFixture create(EntityManager em, String name, int tracks, ObjIntConsumer<Track.TrackBuilder> customizer) {
+        String key = name.toLowerCase();
+        User user = persist(em, User.builder().email(key + "@sonara.com").passwordHash("x").name(name).build());
+        Artist artist = persist(em, Artist.builder().name(name + " Artist").build());
+        Album album = persist(em, Album.builder().title(name + " Album").artist(artist).build());
+        List<Track> persisted = new ArrayList<>(tracks);
+        for (int n = 1; n <= tracks; n++) {
+            Track.TrackBuilder track = Track.builder().title(name + " Song " + n).durationSec(200)
+                    .audioKey(key + "-" + n).audioUrl("/media/" + key + "-" + n + ".mp3").album(album).artist(artist);
+            customizer.accept(track, n);
+            persisted.add(persist(em, track.build()));
+        }
+        return new CatalogFixture(user, artist, album, List.copyOf(persisted));
+    }
+
+    void delete(EntityManager em) {
+        em.createQuery("delete from Track t where t.artist.id = :id").setParameter("id", artist.getId()).executeUpdate();
+        em.createQuery("delete from Album a where a.artist.id = :id").setParameter("id", artist.getId()).executeUpdate();
+        em.createQuery("delete from Artist a where a.id = :id").setParameter("id", artist.getId()).executeUpdate();
+        em.createQuery("delete from User u where u.id = :id").setParameter("id", user.getId()).executeUpdate();
+    }
+
+    static <T> T persist(EntityManager em, T entity) {
+        em.persist(entity);
+        return entity;
+    }
+}
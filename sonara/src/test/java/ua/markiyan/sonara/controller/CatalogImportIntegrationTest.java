@@ -0,0 +1,100 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Artist;
+import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.repository.TrackRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.import.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class CatalogImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TrackRepository trackRepo;
+
+    private Artist artist;
+
+    @BeforeEach
+    void setUp() {
+        artist = Artist.builder().name("Import Artist").build();
+        em.persist(artist);
+        Album album = Album.builder().title("Existing Album").artist(artist).build();
+        em.persist(album);
+        em.persist(Track.builder().title("Old Song").durationSec(100).audioKey("old")
+                .audioUrl("https://cloudflare.com/old.mp3").album(album).artist(artist).build());
+        em.flush();
+    }
+
+    @Test
+    void importsValidRows_andReportsBadOnes() throws Exception {
+        String body = String.join("\n",
+                row("existing album", "New One"),
+                row("Fresh Album", "New Two"),
+                row("Fresh Album", "new one"),                       // дубль у файлі
+                row("Existing Album", "OLD SONG"),                    // дубль з БД
+                "{not json",
+                "{\"albumTitle\":\"Fresh Album\",\"title\":\"No Key\",\"durationSec\":10,\"explicitFlag\":false}",
+                "",
+                row("Fresh Album", "New Three"));
+
+        mockMvc.perform(post("/api/artists/{id}/import", artist.getId())
+                        .contentType(CatalogImportController.NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(7))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.albumsCreated").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].error").value(startsWith("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[3].line").value(6))
+                .andExpect(jsonPath("$.errors[3].error").value(startsWith("audioKey")));
+
+        // "Fresh Album" створено один раз, хоча рядки потрапили в різні чанки
+        assertThat(trackRepo.findTitlesByArtistId(artist.getId()))
+                .containsExactlyInAnyOrder("Old Song", "New One", "New Two", "New Three");
+        Long freshAlbums = em.createQuery("select count(a) from Album a where a.title = 'Fresh Album'", Long.class)
+                .getSingleResult();
+        assertThat(freshAlbums).isEqualTo(1);
+    }
+
+    @Test
+    void unknownArtist_is404() throws Exception {
+        mockMvc.perform(post("/api/artists/{id}/import", 999_999)
+                        .contentType(CatalogImportController.NDJSON)
+                        .content(row("A", "B")))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String row(String album, String title) {
+        return "{\"albumTitle\":\"%s\",\"title\":\"%s\",\"durationSec\":180,\"audioKey\":\"%s\",\"explicitFlag\":false}"
+                .formatted(album, title, title.replace(' ', '-'));
+    }
+}
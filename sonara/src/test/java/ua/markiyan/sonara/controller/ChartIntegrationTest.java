@@ -0,0 +1,119 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.chart.ChartAccumulator;
+import ua.markiyan.sonara.chart.TopCharts;
+import ua.markiyan.sonara.entity.*;
+import ua.markiyan.sonara.service.impl.PlayEventWriter.PendingPlay;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+/**
+ * Not {@code @Transactional}: rollup and refresh run in their own transactions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ChartIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private ChartAccumulator accumulator;
+
+    @Autowired
+    private TopCharts charts;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+    private User ua;
+    private User pl;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(s -> {
+            catalog = CatalogFixture.create(em, "Chart", 3);
+            ua = catalog.user;
+            ua.setCountry(" ua ");
+            pl = persist(em, User.builder().email("chart-pl@sonara.com").passwordHash("x").name("Pl").country("PL").build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            em.createQuery("delete from TrackPlayHourly h where h.artistId = :id").setParameter("id", catalog.artist.getId()).executeUpdate();
+            em.createQuery("delete from TrackPlayDaily d where d.artistId = :id").setParameter("id", catalog.artist.getId()).executeUpdate();
+            em.createQuery("delete from User u where u.id = :id").setParameter("id", pl.getId()).executeUpdate();
+            catalog.delete(em);
+        });
+        charts.refresh();
+    }
+
+    @Test
+    void playsAreRolledUpAndCharted() throws Exception {
+        // трек 1: 3 (UA) + 1 (PL); трек 2: 2 (PL); трек 0: 1 (UA); END-події не рахуються
+        accumulator.record(List.of(
+                start(ua, 1), start(ua, 1), start(ua, 1), start(pl, 1),
+                start(pl, 2), start(pl, 2), start(ua, 0),
+                new PendingPlay(ua.getId(), catalog.tracks.get(0).getId(), PlayEvent.Type.END, 200, LocalDateTime.now())));
+        accumulator.rollup();
+        accumulator.record(List.of(start(ua, 0))); // другий rollup додає до тих самих бакетів
+        accumulator.rollup();
+        charts.refresh();
+
+        mockMvc.perform(get("/api/charts/global").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(2))
+                .andExpect(jsonPath("$.entries[0].trackId").value(catalog.tracks.get(1).getId()))
+                .andExpect(jsonPath("$.entries[0].plays").value(4))
+                .andExpect(jsonPath("$.entries[0].artist").value("Chart Artist"))
+                .andExpect(jsonPath("$.entries[1].trackId").value(catalog.tracks.get(0).getId()));
+        mockMvc.perform(get("/api/charts/countries/{c}", "pl"))
+                .andExpect(jsonPath("$.entries[0].trackId").value(catalog.tracks.get(2).getId()))
+                .andExpect(jsonPath("$.entries[1].plays").value(1));
+        mockMvc.perform(get("/api/charts/artists/{id}", catalog.artist.getId()))
+                .andExpect(jsonPath("$.entries.length()").value(3));
+
+        Long hourlyRows = tx.execute(s -> em.createQuery(
+                "select count(h) from TrackPlayHourly h where h.artistId = :id", Long.class)
+                .setParameter("id", catalog.artist.getId()).getSingleResult());
+        assertThat(hourlyRows).isEqualTo(4); // (1,UA) (1,PL) (2,PL) (0,UA)
+    }
+
+    @Test
+    void limitOutOfRange_is400() throws Exception {
+        mockMvc.perform(get("/api/charts/global").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    private PendingPlay start(User user, int track) {
+        return new PendingPlay(user.getId(), catalog.tracks.get(track).getId(), PlayEvent.Type.START, 0, LocalDateTime.now());
+    }
+}
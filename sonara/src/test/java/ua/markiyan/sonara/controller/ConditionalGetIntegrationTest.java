@@ -0,0 +1,102 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Artist;
+import ua.markiyan.sonara.entity.Track;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    private Album album;
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        Artist artist = Artist.builder().name("Etag Artist").build();
+        em.persist(artist);
+        album = Album.builder().title("Etag Album").artist(artist).build();
+        em.persist(album);
+        track = Track.builder().title("Etag Song").durationSec(100).audioKey("etag-key")
+                .audioUrl("https://cloudflare.com/etag-key.mp3").album(album).artist(artist).build();
+        em.persist(track);
+        em.flush();
+    }
+
+    @Test
+    void track_matchingETag_is304WithoutBody() throws Exception {
+        String etag = mockMvc.perform(get("/api/tracks/{id}", track.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"t" + track.getId() + ".0.0\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", containsString("private")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        var notModified = mockMvc.perform(get("/api/tracks/{id}", track.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andReturn().getResponse();
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(notModified.getHeaders("ETag")).hasSize(1);
+    }
+
+    @Test
+    void patch_changesETag() throws Exception {
+        String before = mockMvc.perform(get("/api/albums/{id}", album.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch("/api/albums/{id}", album.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Etag Album (Remastered)\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/albums/{id}", album.getId()).header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"al" + album.getId() + ".1\""))
+                .andExpect(jsonPath("$.title").value("Etag Album (Remastered)"));
+    }
+
+    @Test
+    void searchPage_hasWeakETag() throws Exception {
+        String albumId = album.getId().toString();
+        String etag = mockMvc.perform(get("/api/tracks").param("albumId", albumId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tracks").param("albumId", albumId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        // інша сторінка результатів — інший тег
+        mockMvc.perform(get("/api/tracks").param("albumId", "-1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,126 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.entity.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+/**
+ * Not {@code @Transactional}: the export body runs in its own transaction on the async thread,
+ * so the fixture has to be committed (and is removed afterwards).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ExportIntegrationTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+    private Playlist playlist;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(s -> {
+            catalog = CatalogFixture.create(em, "Export", ROWS, (track, n) ->
+                    track.title("Song " + n).durationSec(60 * n).audioKey("k" + n).audioUrl("legacy-" + n));
+            playlist = persist(em, Playlist.builder().title("Road\nTrip").user(catalog.user).build());
+            for (int i = 1; i <= ROWS; i++) {
+                // у плейлисті у зворотному порядку
+                persist(em, PlaylistItem.builder().playlist(playlist).track(catalog.tracks.get(i - 1)).position((ROWS - i + 1) * 1024).build());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            em.createQuery("delete from PlaylistItem pi where pi.playlist.id = :id").setParameter("id", playlist.getId()).executeUpdate();
+            em.createQuery("delete from Playlist p where p.id = :id").setParameter("id", playlist.getId()).executeUpdate();
+            catalog.delete(em);
+        });
+    }
+
+    @Test
+    void playlistNdjson_oneLinePerItemInPlaylistOrder() throws Exception {
+        String body = export("/api/playlists/{id}/items/export", playlist.getId());
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(ROWS).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        assertThat(lines[0]).startsWith("{\"position\":1024,").contains("\"title\":\"Song 3\"", "\"artist\":\"Export Artist\"");
+        assertThat(lines[2]).contains("\"title\":\"Song 1\"", "\"audioUrl\":\"https://cloudflare.com/k1.mp3\"");
+    }
+
+    @Test
+    void playlistM3u() throws Exception {
+        String body = export("/api/playlists/{id}/items/export?format=M3U", playlist.getId());
+        assertThat(body).isEqualTo("""
+                #EXTM3U
+                #PLAYLIST:Road Trip
+                #EXTINF:180,Export Artist - Song 3
+                https://cloudflare.com/k3.mp3
+                #EXTINF:120,Export Artist - Song 2
+                https://cloudflare.com/k2.mp3
+                #EXTINF:60,Export Artist - Song 1
+                https://cloudflare.com/k1.mp3
+                """);
+    }
+
+    @Test
+    void albumJspf() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/artists/{a}/albums/{b}/tracks/export?format=jspf",
+                        catalog.artist.getId(), catalog.album.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("album-" + catalog.album.getId() + ".jspf")))
+                .andExpect(jsonPath("$.playlist.title").value("Export Album"))
+                .andExpect(jsonPath("$.playlist.track.length()").value(ROWS))
+                .andExpect(jsonPath("$.playlist.track[0].location[0]").value("https://cloudflare.com/k1.mp3"))
+                .andExpect(jsonPath("$.playlist.track[0].duration").value(60_000));
+    }
+
+    @Test
+    void missingPlaylist_is404_andBadFormat_is400() throws Exception {
+        mockMvc.perform(get("/api/playlists/{id}/items/export", 999_999)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/playlists/{id}/items/export?format=xml", playlist.getId())).andExpect(status().isBadRequest());
+    }
+
+    private String export(String url, Object... vars) throws Exception {
+        MvcResult started = mockMvc.perform(get(url, vars))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(java.nio.charset.StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,114 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.dto.request.PlaylistRequest;
+import ua.markiyan.sonara.dto.response.PlaylistResponse;
+import ua.markiyan.sonara.entity.*;
+import ua.markiyan.sonara.recent.RecentlyPlayedStore;
+import ua.markiyan.sonara.service.PlaylistItemService;
+import ua.markiyan.sonara.service.PlaylistService;
+import ua.markiyan.sonara.service.impl.PlayEventWriter.PendingPlay;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+/**
+ * Not {@code @Transactional}: the parts are loaded on other threads, each in its own transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class HomeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private PlaylistService playlistService;
+
+    @Autowired
+    private PlaylistItemService playlistItemService;
+
+    @Autowired
+    private RecentlyPlayedStore recentlyPlayed;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        catalog = tx.execute(s -> CatalogFixture.create(em, "Home", 7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            recentlyPlayed.forget(catalog.user.getId());
+            em.createQuery("delete from PlaylistItem i where i.playlist.user.id = :id").setParameter("id", catalog.user.getId()).executeUpdate();
+            em.createQuery("delete from Playlist p where p.user.id = :id").setParameter("id", catalog.user.getId()).executeUpdate();
+            em.createQuery("delete from Subscription s where s.user.id = :id").setParameter("id", catalog.user.getId()).executeUpdate();
+            catalog.delete(em);
+        });
+    }
+
+    @Test
+    void home_mergesPlaylistsPlanAndRecentTracks() throws Exception {
+        PlaylistResponse mix = playlistService.create(catalog.user.getId(), new PlaylistRequest("Mix", true));
+        playlistItemService.addTracks(mix.id(), catalog.tracks.stream().map(Track::getId).toList());
+        playlistService.create(catalog.user.getId(), new PlaylistRequest("Empty", false));
+        tx.executeWithoutResult(s -> {
+            persist(em, Subscription.builder().user(em.getReference(User.class, catalog.user.getId())).planCode(Subscription.PlanCode.premium)
+                    .status(Subscription.SubscriptionStatus.active).startedAt(LocalDateTime.now()).build());
+            // новіший, але неактивний — не має перекрити активний план
+            persist(em, Subscription.builder().user(em.getReference(User.class, catalog.user.getId())).planCode(Subscription.PlanCode.free)
+                    .status(Subscription.SubscriptionStatus.expired).startedAt(LocalDateTime.now().minusYears(1)).build());
+        });
+        LocalDateTime t0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+        recentlyPlayed.record(List.of(
+                new PendingPlay(catalog.user.getId(), catalog.tracks.get(2).getId(), PlayEvent.Type.START, 0, t0),
+                new PendingPlay(catalog.user.getId(), catalog.tracks.get(5).getId(), PlayEvent.Type.END, 42, t0.plusMinutes(3))));
+
+        mockMvc.perform(get("/api/users/{id}/home", catalog.user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(catalog.user.getId()))
+                .andExpect(jsonPath("$.subscription.planCode").value("premium"))
+                .andExpect(jsonPath("$.playlists.length()").value(2))
+                .andExpect(jsonPath("$.playlists[?(@.playlist.title == 'Mix')].itemCount").value(7))
+                .andExpect(jsonPath("$.playlists[?(@.playlist.title == 'Mix')].items.length()").value(5))
+                .andExpect(jsonPath("$.playlists[?(@.playlist.title == 'Empty')].itemCount").value(0))
+                .andExpect(jsonPath("$.recent.length()").value(2))
+                .andExpect(jsonPath("$.recent[0].track.id").value(catalog.tracks.get(5).getId()))
+                .andExpect(jsonPath("$.recent[0].positionSec").value(42))
+                .andExpect(jsonPath("$.recent[1].track.title").value("Home Song 3"));
+    }
+
+    @Test
+    void home_unknownUser_is404() throws Exception {
+        mockMvc.perform(get("/api/users/{id}/home", 987_654L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,145 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.entity.*;
+import ua.markiyan.sonara.security.JwtUtil;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+/**
+ * Same mixed read/write workload against a real Tomcat, once per threading mode
+ * ({@link PlatformThreadsLoadTest}, {@link VirtualThreadsLoadTest}); throughput and p50/p99 are logged
+ * so the two runs can be compared. Reads: playlist items and album tracks; writes: append to a playlist.
+ * <p>
+ * Run with {@code mvn -Pload-tests test}. Against in-memory H2 queries barely block, so the gap is
+ * smaller than against a networked MySQL.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+abstract class MixedLoadBenchmark {
+
+    static final int CLIENTS = 400;
+    static final int OPS_PER_CLIENT = 20;
+    static final int TRACKS = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+    private List<Long> trackIds;
+    private final List<Long> playlistIds = new ArrayList<>();
+
+    /** Label for the log line. */
+    abstract String mode();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(s -> {
+            catalog = CatalogFixture.create(em, "Bench", TRACKS);
+            // свій плейлист на клієнта: записи не чекають на один і той самий lock
+            for (int c = 0; c < CLIENTS; c++) {
+                playlistIds.add(persist(em, Playlist.builder().title("Bench " + c).user(catalog.user).build()).getId());
+            }
+        });
+        trackIds = catalog.tracks.stream().map(Track::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            em.createQuery("delete from PlaylistItem pi where pi.playlist.user.id = :id").setParameter("id", catalog.user.getId()).executeUpdate();
+            em.createQuery("delete from Playlist p where p.user.id = :id").setParameter("id", catalog.user.getId()).executeUpdate();
+            catalog.delete(em);
+        });
+    }
+
+    @Test
+    void mixedReadWriteLoad() throws Exception {
+        String base = "http://localhost:" + port;
+        String auth = "Bearer " + jwtUtil.generateToken(catalog.user.getEmail(), Map.of());
+        long[][] latencies = new long[CLIENTS][OPS_PER_CLIENT];
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                done.add(clients.submit(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    Long playlistId = playlistIds.get(client);
+                    for (int i = 0; i < OPS_PER_CLIENT; i++) {
+                        int dice = rnd.nextInt(100);
+                        HttpRequest.Builder request;
+                        if (dice < 20) {
+                            request = HttpRequest.newBuilder(URI.create(base + "/api/playlists/" + playlistId + "/items"))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(
+                                            "{\"trackId\":" + trackIds.get(rnd.nextInt(TRACKS)) + "}"));
+                        } else if (dice < 65) {
+                            request = HttpRequest.newBuilder(URI.create(base + "/api/playlists/" + playlistId + "/items"));
+                        } else {
+                            request = HttpRequest.newBuilder(URI.create(
+                                    base + "/api/artists/" + catalog.artist.getId() + "/albums/" + catalog.album.getId() + "/tracks"));
+                        }
+                        long t0 = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request.header("Authorization", auth).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[client][i] = System.nanoTime() - t0;
+                        assertThat(response.statusCode()).as("%s %s", mode(), response.uri()).isBetween(200, 299);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : done) f.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        log.info("Mixed load [{}]: {} clients, {} requests in {} s -> {} req/s, p50 {} ms, p99 {} ms",
+                mode(), CLIENTS, all.length, "%.2f".formatted(seconds), "%.0f".formatted(all.length / seconds),
+                "%.1f".formatted(percentile(all, 0.50) / 1e6), "%.1f".formatted(percentile(all, 0.99) / 1e6));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,71 @@
+package ua.markiyan.sonara.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Artist;
+import ua.markiyan.sonara.entity.Track;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class ObservabilityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        Artist artist = Artist.builder().name("Metrics Artist").build();
+        em.persist(artist);
+        Album album = Album.builder().title("Metrics Album").artist(artist).build();
+        em.persist(album);
+        em.persist(Track.builder().title("Metrics Song").durationSec(100).audioKey("m1")
+                .audioUrl("u").album(album).artist(artist).build());
+        em.flush();
+    }
+
+    @Test
+    void requestBreakdown_isRecorded_andScrapedWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/tracks").param("artistId", "1")).andExpect(status().isOk());
+
+        double statements = meterRegistry.get("http.server.requests.statements")
+                .tag("uri", "/api/tracks").summary().totalAmount();
+        assertThat(statements).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.phase")
+                .tags("uri", "/api/tracks", "phase", "assembly").timer().count()).isEqualTo(1);
+
+        mockMvc.perform(get("/actuator/prometheus").with(anonymous()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_phase_seconds_sum{method=\"GET\",phase=\"repository\",uri=\"/api/tracks\"}")))
+                .andExpect(content().string(containsString("jwt_filter_seconds")));
+    }
+}
@@ -0,0 +1,12 @@
+package ua.markiyan.sonara.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsLoadTest extends MixedLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
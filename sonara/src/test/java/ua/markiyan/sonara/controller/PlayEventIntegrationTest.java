@@ -0,0 +1,129 @@
+package ua.markiyan.sonara.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.chart.ChartAccumulator;
+import ua.markiyan.sonara.entity.*;
+import ua.markiyan.sonara.recent.RecentlyPlayedStore;
+import ua.markiyan.sonara.service.impl.PlayEventWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: events are written by the background writer in its own transactions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class PlayEventIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private PlayEventWriter writer;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ChartAccumulator chartAccumulator;
+
+    @Autowired
+    private RecentlyPlayedStore recentlyPlayed;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        catalog = tx.execute(s -> CatalogFixture.create(em, "Plays", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // лічильники чартів живуть у пам'яті кешованого контексту; без скидання їх запише пізніший rollup
+        // під id, які інший тест (після create-drop) вже видав своїм трекам
+        chartAccumulator.rollup();
+        tx.executeWithoutResult(s -> {
+            recentlyPlayed.forget(catalog.user.getId());
+            em.createQuery("delete from TrackPlayHourly h where h.artistId = :id").setParameter("id", catalog.artist.getId()).executeUpdate();
+            em.createQuery("delete from TrackPlayDaily d where d.artistId = :id").setParameter("id", catalog.artist.getId()).executeUpdate();
+            em.createQuery("delete from PlayEvent e where e.user.id = :id").setParameter("id", catalog.user.getId()).executeUpdate();
+            catalog.delete(em);
+        });
+    }
+
+    @Test
+    void acceptedEvents_areWrittenInBackground_unknownTrackDropped() throws Exception {
+        double unknownBefore = registry.counter("plays.dropped", "reason", "unknown_ref").count();
+
+        play(catalog.tracks.get(0).getId(), "START").andExpect(status().isAccepted());
+        play(catalog.tracks.get(0).getId(), "END").andExpect(status().isAccepted());
+        play(999_999L, "START").andExpect(status().isAccepted()); // перевіряється лише при записі
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (countPlays() < 2 && System.currentTimeMillis() < deadline) Thread.sleep(20);
+        writer.drain();
+
+        assertThat(countPlays()).isEqualTo(2);
+        long waitUnknown = System.currentTimeMillis() + 5_000;
+        while (registry.counter("plays.dropped", "reason", "unknown_ref").count() == unknownBefore
+                && System.currentTimeMillis() < waitUnknown) Thread.sleep(20);
+        assertThat(registry.counter("plays.dropped", "reason", "unknown_ref").count()).isEqualTo(unknownBefore + 1);
+    }
+
+    @Test
+    void writerNotAccepting_is429() throws Exception {
+        writer.stop();
+        try {
+            play(catalog.tracks.get(0).getId(), "START")
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            writer.start();
+        }
+    }
+
+    @Test
+    void invalidEvent_is400() throws Exception {
+        mockMvc.perform(post("/api/users/{id}/plays", catalog.user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"trackId\":1,\"positionSec\":-1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private org.springframework.test.web.servlet.ResultActions play(Long trackId, String type) throws Exception {
+        return mockMvc.perform(post("/api/users/{id}/plays", catalog.user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"trackId\":%d,\"type\":\"%s\",\"positionSec\":0}".formatted(trackId, type)));
+    }
+
+    private long countPlays() {
+        return tx.execute(s -> em.createQuery("select count(e) from PlayEvent e where e.user.id = :id", Long.class)
+                .setParameter("id", catalog.user.getId()).getSingleResult());
+    }
+}
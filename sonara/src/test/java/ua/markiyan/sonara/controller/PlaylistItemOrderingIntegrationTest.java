@@ -0,0 +1,166 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.dto.response.PlaylistItemResponse;
+import ua.markiyan.sonara.entity.*;
+import ua.markiyan.sonara.repository.PlaylistItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class PlaylistItemOrderingIntegrationTest {
+
+    private static final int ROWS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlaylistItemRepository itemRepo;
+
+    private Playlist playlist;
+    private Album album;
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        CatalogFixture catalog = CatalogFixture.create(em, "Order", ROWS);
+        album = catalog.album;
+        playlist = persist(em, Playlist.builder().title("Order Playlist").user(catalog.user).build());
+        for (int i = 1; i <= ROWS; i++) {
+            // старі дані: позиції 1..n без проміжків
+            itemIds.add(persist(em, PlaylistItem.builder().playlist(playlist).track(catalog.tracks.get(i - 1)).position(i).build()).getId());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void moveWithoutGap_rewritesPlaylistInNewOrder() throws Exception {
+        move(4, 1, 1);
+        assertThat(order()).containsExactly(id(0), id(4), id(1), id(2), id(3), id(5));
+        assertThat(positions()).containsExactly(1024, 2048, 3072, 4096, 5120, 6144);
+    }
+
+    @Test
+    void moveWithGap_touchesOnlyMovedRows() throws Exception {
+        reorder(List.of()); // розріджені позиції
+        move(0, 5, 1);
+        assertThat(order()).containsExactly(id(1), id(2), id(3), id(4), id(5), id(0));
+        assertThat(positions()).containsExactly(2048, 3072, 4096, 5120, 6144, 7168);
+
+        move(2, 0, 2); // блок з двох елементів на початок
+        assertThat(order()).containsExactly(id(3), id(4), id(1), id(2), id(5), id(0));
+        assertThat(positions()).containsExactly(682, 1364, 2048, 3072, 6144, 7168);
+    }
+
+    @Test
+    void reorder_putsListedItemsFirst() throws Exception {
+        reorder(List.of(id(5), id(3), 999_999L));
+        assertThat(order()).containsExactly(id(5), id(3), id(0), id(1), id(2), id(4));
+        assertThat(positions()).containsExactly(1024, 2048, 3072, 4096, 5120, 6144);
+    }
+
+    @Test
+    void createWithoutPosition_appends() throws Exception {
+        Long trackId = itemRepo.findById(id(0)).orElseThrow().getTrack().getId();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/playlists/{id}/items", playlist.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"trackId\":%d}".formatted(trackId)))
+                    .andExpect(status().isCreated());
+        }
+        assertThat(positions()).endsWith(6, 1030, 2054);
+    }
+
+    @Test
+    void bulkAdd_appendsInGivenOrder() throws Exception {
+        List<Long> tracks = itemRepo.findResponsesByPlaylistId(playlist.getId()).stream()
+                .map(PlaylistItemResponse::trackId).toList();
+        mockMvc.perform(post("/api/playlists/{id}/items/bulk", playlist.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"trackIds\":[%d,%d,%d]}".formatted(tracks.get(2), tracks.get(0), tracks.get(2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$._embedded.playlistItemResponseList[2].position").value(6 + 3 * 1024));
+
+        List<PlaylistItemResponse> items = itemRepo.findResponsesByPlaylistId(playlist.getId());
+        assertThat(items).hasSize(ROWS + 3);
+        assertThat(items.subList(ROWS, ROWS + 3)).extracting(PlaylistItemResponse::trackId)
+                .containsExactly(tracks.get(2), tracks.get(0), tracks.get(2));
+    }
+
+    @Test
+    void bulkAdd_unknownTrack_is404_andAddsNothing() throws Exception {
+        mockMvc.perform(post("/api/playlists/{id}/items/bulk", playlist.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"trackIds\":[999999]}"))
+                .andExpect(status().isNotFound());
+        assertThat(order()).hasSize(ROWS);
+    }
+
+    @Test
+    void addAlbum_appendsAllAlbumTracks() throws Exception {
+        mockMvc.perform(post("/api/playlists/{id}/items/albums/{albumId}", playlist.getId(), album.getId()))
+                .andExpect(status().isCreated());
+        assertThat(order()).hasSize(ROWS * 2);
+        assertThat(positions().get(ROWS * 2 - 1)).isEqualTo(6 + ROWS * 1024);
+    }
+
+    @Test
+    void moveOutOfRange_is400() throws Exception {
+        mockMvc.perform(post("/api/playlists/{id}/items/move", playlist.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\":5,\"to\":0,\"count\":2}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void move(int from, int to, int count) throws Exception {
+        mockMvc.perform(post("/api/playlists/{id}/items/move", playlist.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\":%d,\"to\":%d,\"count\":%d}".formatted(from, to, count)))
+                .andExpect(status().isOk());
+    }
+
+    private void reorder(List<Long> ids) throws Exception {
+        mockMvc.perform(post("/api/playlists/{id}/items/reorder", playlist.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids.toString()))
+                .andExpect(status().isOk());
+    }
+
+    private List<Long> order() {
+        return itemRepo.findResponsesByPlaylistId(playlist.getId()).stream().map(PlaylistItemResponse::id).toList();
+    }
+
+    private List<Integer> positions() {
+        return itemRepo.findResponsesByPlaylistId(playlist.getId()).stream().map(PlaylistItemResponse::position).toList();
+    }
+
+    private Long id(int index) {
+        return itemIds.get(index);
+    }
+}
@@ -0,0 +1,111 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.*;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the list endpoints against N+1: each one must be answered with a single SQL statement.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class QueryCountIntegrationTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+    private CatalogFixture catalog;
+    private Playlist playlist;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+        catalog = CatalogFixture.create(em, "Stats", ROWS);
+        User user = catalog.user;
+        playlist = persist(em, Playlist.builder().title("Stats Playlist").user(user).build());
+        subscription = persist(em, Subscription.builder().user(user)
+                .status(Subscription.SubscriptionStatus.active).build());
+        persist(em, Playlist.builder().title("Second Playlist").user(user).build());
+
+        for (int i = 1; i <= ROWS; i++) {
+            persist(em, Album.builder().title("Album " + i).artist(catalog.artist).build());
+            persist(em, PlaylistItem.builder().playlist(playlist).track(catalog.tracks.get(i - 1)).position(i).build());
+            persist(em, Payment.builder().user(user).subscription(subscription)
+                    .amount(BigDecimal.TEN).currency("USD").build());
+        }
+        // наступні запити мають йти в БД, а не в persistence context
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void playlistItems_singleStatement() throws Exception {
+        assertSingleStatement("/api/playlists/%d/items".formatted(playlist.getId()));
+    }
+
+    @Test
+    void userPlaylists_singleStatement() throws Exception {
+        assertSingleStatement("/api/users/%d/playlists".formatted(catalog.user.getId()));
+    }
+
+    @Test
+    void userSubscriptions_singleStatement() throws Exception {
+        assertSingleStatement("/api/users/%d/subscriptions".formatted(catalog.user.getId()));
+    }
+
+    @Test
+    void payments_singleStatement() throws Exception {
+        assertSingleStatement("/api/users/%d/payments".formatted(catalog.user.getId()));
+        assertSingleStatement("/api/subscriptions/%d/payments".formatted(subscription.getId()));
+    }
+
+    @Test
+    void artistAlbums_singleStatement() throws Exception {
+        assertSingleStatement("/api/artists/%d/albums".formatted(catalog.artist.getId()));
+    }
+
+    @Test
+    void albumTracksUnderArtist_singleStatement() throws Exception {
+        assertSingleStatement("/api/artists/%d/albums/%d/tracks".formatted(catalog.artist.getId(), catalog.album.getId()));
+    }
+
+    private void assertSingleStatement(String url) throws Exception {
+        stats.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        assertThat(stats.getPrepareStatementCount())
+                .as("SQL statements for GET %s", url)
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,117 @@
+package ua.markiyan.sonara.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.dto.response.RecentPlayResponse;
+import ua.markiyan.sonara.entity.*;
+import ua.markiyan.sonara.recent.RecentlyPlayedStore;
+import ua.markiyan.sonara.service.impl.PlayEventWriter.PendingPlay;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: the store flushes in its own transactions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class RecentPlayIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private RecentlyPlayedStore store;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        catalog = tx.execute(s -> CatalogFixture.create(em, "Recent", 3));
+        store.forget(catalog.user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            store.forget(catalog.user.getId());
+            catalog.delete(em);
+        });
+    }
+
+    @Test
+    void recent_newestFirst_replayCoalesced() throws Exception {
+        LocalDateTime t0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+        store.record(List.of(
+                play(0, 0, t0),
+                play(1, 0, t0.plusMinutes(4)),
+                play(2, 30, t0.plusMinutes(8)),
+                play(0, 75, t0.plusMinutes(9))));
+
+        mockMvc.perform(get("/api/users/{id}/recent", catalog.user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].trackId").value(catalog.tracks.get(0).getId()))
+                .andExpect(jsonPath("$[0].positionSec").value(75))
+                .andExpect(jsonPath("$[1].trackId").value(catalog.tracks.get(2).getId()))
+                .andExpect(jsonPath("$[2].trackId").value(catalog.tracks.get(1).getId()));
+
+        mockMvc.perform(get("/api/users/{id}/recent", catalog.user.getId()).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void flush_writesOneRowPerTrack_andWarmsAFreshStore() {
+        LocalDateTime t0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+        store.record(List.of(play(0, 0, t0), play(1, 10, t0.plusMinutes(1)), play(0, 50, t0.plusMinutes(2))));
+        assertThat(countRows()).isZero(); // write-behind: до flush у БД нічого
+        store.flush();
+        assertThat(countRows()).isEqualTo(2);
+
+        // "після рестарту": новий екземпляр бачить те саме з БД
+        var restarted = new RecentlyPlayedStore(jdbc, txManager, new SimpleMeterRegistry(), 30, 100);
+        var recent = restarted.recent(catalog.user.getId(), 10);
+        assertThat(recent).extracting(RecentPlayResponse::trackId).containsExactly(catalog.tracks.get(0).getId(), catalog.tracks.get(1).getId());
+        assertThat(recent).extracting(RecentPlayResponse::positionSec).containsExactly(50, 10);
+        assertThat(recent.get(0).playedAt()).isEqualTo(t0.plusMinutes(2));
+    }
+
+    private PendingPlay play(int track, int positionSec, LocalDateTime at) {
+        return new PendingPlay(catalog.user.getId(), catalog.tracks.get(track).getId(), PlayEvent.Type.START, positionSec, at);
+    }
+
+    private long countRows() {
+        return tx.execute(s -> em.createQuery("select count(r) from RecentPlay r where r.user.id = :id", Long.class)
+                .setParameter("id", catalog.user.getId()).getSingleResult());
+    }
+}
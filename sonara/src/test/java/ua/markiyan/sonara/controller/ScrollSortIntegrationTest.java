@@ -0,0 +1,72 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cursor endpoints only sort by whitelisted properties: sort key values travel in the {@code after} token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class ScrollSortIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        em.persist(User.builder().email("scroll-a@sonara.com").passwordHash("$2a$10$secret").name("Scroll A").build());
+        em.persist(User.builder().email("scroll-b@sonara.com").passwordHash("$2a$10$secret").name("Scroll B").build());
+        em.flush();
+    }
+
+    @Test
+    void usersScroll_byPasswordHash_is400() throws Exception {
+        mockMvc.perform(get("/api/users/scroll").param("q", "scroll-").param("sort", "passwordHash").param("size", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void usersScroll_byName_hasNextLink() throws Exception {
+        mockMvc.perform(get("/api/users/scroll").param("q", "scroll-").param("sort", "name").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.next.href", containsString("after=")));
+    }
+
+    @Test
+    void forgedCursor_withOtherColumn_is400() throws Exception {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"name\":\"Scroll A\",\"passwordHash\":\"$2a\",\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/api/users/scroll").param("sort", "name").param("after", token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void tracksAndAlbumsScroll_byUnlistedProperty_is400() throws Exception {
+        mockMvc.perform(get("/api/tracks/scroll").param("sort", "audioKey")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/albums/scroll").param("sort", "coverUrl")).andExpect(status().isBadRequest());
+    }
+}
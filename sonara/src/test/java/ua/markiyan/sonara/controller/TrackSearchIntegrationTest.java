@@ -0,0 +1,145 @@
+package ua.markiyan.sonara.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Track;
+import ua.markiyan.sonara.search.CatalogSearchIndex;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ua.markiyan.sonara.controller.CatalogFixture.persist;
+
+/**
+ * {@code GET /api/tracks}: Specification filters, paged vs sliced output, and the title-only
+ * search box that is answered from the n-gram index. Not {@code @Transactional}: the index is
+ * updated after commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class TrackSearchIntegrationTest {
+
+    private static final String[] TITLES = {"Blue Zéphyr", "Zephyr Dawn", "Zephyr", "Slow Burn"};
+    private static final int[] DURATIONS = {120, 240, 300, 400};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+    private Album later;
+    private Track lateTrack;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(s -> {
+            catalog = CatalogFixture.create(em, "Filter", TITLES.length, (track, n) ->
+                    track.title(TITLES[n - 1]).durationSec(DURATIONS[n - 1]).explicitFlag(n % 2 == 0));
+            catalog.album.setReleaseDate(LocalDate.of(2020, 1, 1));
+            later = persist(em, Album.builder().title("Filter Later").releaseDate(LocalDate.of(2024, 6, 1))
+                    .artist(catalog.artist).build());
+            lateTrack = persist(em, Track.builder().title("Late Zephyrs").durationSec(250).explicitFlag(true)
+                    .audioKey("filter-late").audioUrl("/media/filter-late.mp3").album(later).artist(catalog.artist).build());
+            // як TrackService.create: індекс оновлюється після коміту
+            catalog.tracks.forEach(t -> searchIndex.indexTrack(t.getId(), t.getTitle()));
+            searchIndex.indexTrack(lateTrack.getId(), lateTrack.getTitle());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            searchIndex.removeTracks(Stream.concat(catalog.tracks.stream(), Stream.of(lateTrack)).map(Track::getId).toList());
+            catalog.delete(em);
+        });
+    }
+
+    @Test
+    void durationRangeAndExplicitFlag() throws Exception {
+        search("minDurationSec", "200", "maxDurationSec", "300")
+                .andExpect(jsonPath("$.page.totalElements").value(3));
+        search("minDurationSec", "200", "maxDurationSec", "300", "explicitFlag", "true")
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$._embedded.trackResponseList[0].id").value(catalog.tracks.get(1).getId()))
+                .andExpect(jsonPath("$._embedded.trackResponseList[1].id").value(lateTrack.getId()));
+        search("durationSec", "400")
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$._embedded.trackResponseList[0].title").value("Slow Burn"));
+    }
+
+    @Test
+    void albumAndReleaseDateRange() throws Exception {
+        search("albumId", later.getId().toString())
+                .andExpect(jsonPath("$.page.totalElements").value(1));
+        search("releasedFrom", "2023-01-01")
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$._embedded.trackResponseList[0].id").value(lateTrack.getId()));
+        search("releasedFrom", "2019-01-01", "releasedTo", "2021-12-31")
+                .andExpect(jsonPath("$.page.totalElements").value(4));
+    }
+
+    @Test
+    void pagedHasTotals_slicedOnlyANextLink() throws Exception {
+        search("size", "2")
+                .andExpect(jsonPath("$._embedded.trackResponseList.length()").value(2))
+                .andExpect(jsonPath("$.page.totalElements").value(5))
+                .andExpect(jsonPath("$.page.totalPages").value(3));
+        search("size", "2", "withTotal", "false")
+                .andExpect(jsonPath("$._embedded.trackResponseList.length()").value(2))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href", containsString("page=1")));
+        search("size", "2", "page", "2", "withTotal", "false")
+                .andExpect(jsonPath("$._embedded.trackResponseList.length()").value(1))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @Test
+    void titleOnly_isRankedByTheIndex_andAccentInsensitive() throws Exception {
+        // точний збіг, префікс, потім початок слова (коротший текст першим); "Zéphyr" теж знаходиться
+        mockMvc.perform(get("/api/tracks").param("title", "zephyr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(4))
+                .andExpect(jsonPath("$._embedded.trackResponseList[0].title").value("Zephyr"))
+                .andExpect(jsonPath("$._embedded.trackResponseList[1].title").value("Zephyr Dawn"))
+                .andExpect(jsonPath("$._embedded.trackResponseList[2].title").value("Blue Zéphyr"))
+                .andExpect(jsonPath("$._embedded.trackResponseList[3].title").value("Late Zephyrs"));
+        // з іншим фільтром — LIKE у БД, без зняття діакритики
+        search("title", "zephyr")
+                .andExpect(jsonPath("$.page.totalElements").value(3));
+    }
+
+    /** Scoped to the fixture's artist, sorted by id so the order is stable. */
+    private ResultActions search(String... params) throws Exception {
+        var request = get("/api/tracks").param("artistId", catalog.artist.getId().toString()).param("sort", "id");
+        for (int i = 0; i < params.length; i += 2) request.param(params[i], params[i + 1]);
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,158 @@
+package ua.markiyan.sonara.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ua.markiyan.sonara.entity.Album;
+import ua.markiyan.sonara.entity.Artist;
+import ua.markiyan.sonara.entity.Track;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class TrackStreamIntegrationTest {
+
+    private static final int SIZE = 100_000;
+    private static final Path ROOT;
+    private static final byte[] AUDIO = new byte[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) AUDIO[i] = (byte) (i * 31);
+        try {
+            ROOT = Files.createTempDirectory("sonara-media");
+            Files.write(ROOT.resolve("stream-key.mp3"), AUDIO);
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void media(DynamicPropertyRegistry registry) {
+        registry.add("app.media.backend", () -> "local");
+        registry.add("app.media.local.root", ROOT::toString);
+        registry.add("app.media.signing-key", () -> "stream-test-key");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager em;
+
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        Artist artist = Artist.builder().name("Stream Artist").build();
+        em.persist(artist);
+        Album album = Album.builder().title("Stream Album").artist(artist).build();
+        em.persist(album);
+        track = Track.builder().title("Stream Song").durationSec(5).audioKey("stream-key")
+                .audioUrl("/media/stream-key.mp3").album(album).artist(artist).build();
+        em.persist(track);
+        em.flush();
+    }
+
+    @Test
+    void noRange_wholeFileWithValidators() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/tracks/{id}/stream", track.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Content-Type", "audio/mpeg"))
+                .andExpect(header().longValue("Content-Length", SIZE))
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).isEqualTo(AUDIO);
+    }
+
+    @Test
+    void range_partialContent() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/tracks/{id}/stream", track.getId()).header("Range", "bytes=1000-1999"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 1000-1999/" + SIZE))
+                .andExpect(header().longValue("Content-Length", 1000))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).isEqualTo(Arrays.copyOfRange(AUDIO, 1000, 2000));
+
+        // суфікс: останні 10 байтів
+        body = mockMvc.perform(get("/api/tracks/{id}/stream", track.getId()).header("Range", "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes %d-%d/%d".formatted(SIZE - 10, SIZE - 1, SIZE)))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).isEqualTo(Arrays.copyOfRange(AUDIO, SIZE - 10, SIZE));
+    }
+
+    @Test
+    void rangePastEnd_is416() throws Exception {
+        mockMvc.perform(get("/api/tracks/{id}/stream", track.getId()).header("Range", "bytes=" + SIZE + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + SIZE));
+    }
+
+    @Test
+    void conditionalHeaders() throws Exception {
+        String etag = mockMvc.perform(get("/api/tracks/{id}/stream", track.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tracks/{id}/stream", track.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tracks/{id}/stream", track.getId())
+                        .header("Range", "bytes=0-9").header("If-Range", etag))
+                .andExpect(status().isPartialContent());
+        // файл змінився -> If-Range не збігся, віддаємо весь файл
+        mockMvc.perform(get("/api/tracks/{id}/stream", track.getId())
+                        .header("Range", "bytes=0-9").header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", SIZE));
+    }
+
+    @Test
+    void emittedAudioUrl_isServedWithoutToken_onlyWithValidSignature() throws Exception {
+        String json = mockMvc.perform(get("/api/tracks/{id}", track.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String url = JsonPath.read(json, "$.audioUrl");
+        assertThat(url).startsWith("/media/stream-key.mp3?exp=").contains("&sig=");
+
+        byte[] body = mockMvc.perform(get(URI.create(url)).with(anonymous()).header("Range", "bytes=0-99"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).isEqualTo(Arrays.copyOf(AUDIO, 100));
+
+        mockMvc.perform(get(URI.create(url.replaceAll("sig=[^&]+", "sig=forged"))).with(anonymous()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/media/stream-key.mp3").with(anonymous()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void missingTrackOrFile_is404_badQuality_is400() throws Exception {
+        mockMvc.perform(get("/api/tracks/{id}/stream", 999_999)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tracks/{id}/stream?quality=high", track.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tracks/{id}/stream?quality=lossless", track.getId())).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,136 @@
+package ua.markiyan.sonara.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.persistence.EntityManager;
+import ua.markiyan.sonara.security.JwtUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of clients seeking through the same file over a real Tomcat (sendfile path).
+ * Every response is checked byte for byte; throughput is logged.
+ * <p>
+ * Excluded from the default build, run with {@code mvn -Pload-tests test}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TrackStreamLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int SEEKS_PER_CLIENT = 20;
+    private static final int CHUNK = 256 * 1024;
+    private static final int SIZE = 16 * 1024 * 1024;
+    private static final Path ROOT;
+    private static final byte[] AUDIO = new byte[SIZE];
+
+    static {
+        ThreadLocalRandom.current().nextBytes(AUDIO);
+        try {
+            ROOT = Files.createTempDirectory("sonara-media-load");
+            Files.write(ROOT.resolve("load-1.mp3"), AUDIO); // audioKey першого треку CatalogFixture "Load"
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void media(DynamicPropertyRegistry registry) {
+        registry.add("app.media.backend", () -> "local");
+        registry.add("app.media.local.root", ROOT::toString);
+        registry.add("server.tomcat.threads.max", () -> "400");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private TransactionTemplate tx;
+    private CatalogFixture catalog;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        catalog = tx.execute(s -> CatalogFixture.create(em, "Load", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> catalog.delete(em));
+    }
+
+    @Test
+    void concurrentSeekingClients() throws Exception {
+        URI uri = URI.create("http://localhost:%d/api/tracks/%d/stream".formatted(port, catalog.tracks.get(0).getId()));
+        String token = jwtUtil.generateToken(catalog.user.getEmail(), Map.of());
+        AtomicLong bytes = new AtomicLong();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                done.add(clients.submit(() -> {
+                    for (int i = 0; i < SEEKS_PER_CLIENT; i++) {
+                        int from = ThreadLocalRandom.current().nextInt(SIZE - CHUNK);
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Authorization", "Bearer " + token)
+                                .header("Range", "bytes=%d-%d".formatted(from, from + CHUNK - 1))
+                                .build();
+                        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        assertThat(response.statusCode()).isEqualTo(206);
+                        assertThat(response.body()).isEqualTo(Arrays.copyOfRange(AUDIO, from, from + CHUNK));
+                        bytes.addAndGet(response.body().length);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : done) f.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long requests = (long) CLIENTS * SEEKS_PER_CLIENT;
+        log.info("Stream load: {} clients, {} range requests, {} MiB in {} s -> {} req/s, {} MiB/s",
+                CLIENTS, requests, bytes.get() >> 20, "%.2f".formatted(seconds),
+                "%.0f".formatted(requests / seconds), "%.1f".formatted((bytes.get() >> 20) / seconds));
+        assertThat(bytes.get()).isEqualTo(requests * CHUNK);
+    }
+}
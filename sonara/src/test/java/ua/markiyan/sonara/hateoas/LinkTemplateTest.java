@@ -0,0 +1,113 @@
+package ua.markiyan.sonara.hateoas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ua.markiyan.sonara.controller.*;
+import ua.markiyan.sonara.dto.response.*;
+import ua.markiyan.sonara.media.AudioUrlResolver;
+import ua.markiyan.sonara.media.CdnAudioStorage;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Template-based assemblers must render exactly the links {@code linkTo(methodOn(..))} used to.
+ */
+class LinkTemplateTest {
+
+    @BeforeEach
+    void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sonara/api/tracks");
+        request.setScheme("https");
+        request.setServerName("api.sonara.com");
+        request.setServerPort(443);
+        request.setContextPath("/sonara");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void catalogAssemblers_matchMethodOnLinks() {
+        var audioUrls = new AudioUrlResolver(new CdnAudioStorage("https://cdn.test/"), "", Duration.ofHours(1), Duration.ofMinutes(5));
+        assertSameLinks(new TrackModelAssembler(audioUrls).toModel(new TrackResponse(7L, "t", 1, "k", false, "u", 0, null)),
+                linkTo(methodOn(TrackController.class).get(7L, null)).withSelfRel(),
+                linkTo(methodOn(TrackController.class).search(null, null, null, null, null, null, null, null, null, null, Pageable.unpaged(), null)).withRel("tracks"),
+                linkTo(methodOn(TrackController.class).patch(7L, null)).withRel("update"),
+                linkTo(methodOn(TrackController.class).delete(7L)).withRel("delete"),
+                Link.of("https://cdn.test/k_96.mp3", "audio-low"),
+                Link.of("https://cdn.test/k.mp3", "audio-normal"),
+                Link.of("https://cdn.test/k_320.mp3", "audio-high"));
+
+        assertSameLinks(new AlbumModelAssembler().toModel(new AlbumResponse(3L, "a", null, null, 1L, 0, null)),
+                linkTo(methodOn(AlbumController.class).get(3L, null)).withSelfRel(),
+                linkTo(methodOn(AlbumController.class).search(null, null, Pageable.unpaged(), null, null)).withRel("albums"),
+                linkTo(methodOn(AlbumController.class).patch(3L, null)).withRel("update"),
+                linkTo(methodOn(AlbumController.class).delete(3L)).withRel("delete"));
+
+        assertSameLinks(new ArtistModelAssembler().toModel(new ArtistResponse(2L, "n", null, null, null, 0, null)),
+                linkTo(methodOn(ArtistController.class).get(2L, null)).withSelfRel(),
+                linkTo(methodOn(ArtistController.class).search(null, null, Pageable.unpaged(), null)).withRel("artists"),
+                linkTo(methodOn(ArtistController.class).patch(2L, null)).withRel("update"),
+                linkTo(methodOn(ArtistController.class).delete(2L)).withRel("delete"));
+    }
+
+    @Test
+    void userAssemblers_matchMethodOnLinks() {
+        assertSameLinks(new UserModelAssembler().toModel(new UserResponse(5L, "e", "n", null, "ACTIVE", null)),
+                linkTo(methodOn(UserController.class).get(5L)).withSelfRel(),
+                linkTo(methodOn(UserController.class).search(null, Pageable.unpaged())).withRel("users"),
+                linkTo(methodOn(UserController.class).patch(5L, null)).withRel("update"),
+                linkTo(methodOn(UserController.class).delete(5L)).withRel("delete"));
+
+        assertSameLinks(new PaymentModelAssembler().toModel(new PaymentResponse(9L, 5L, 4L, BigDecimal.ONE, "PENDING")),
+                linkTo(methodOn(PaymentController.class).get(9L)).withSelfRel(),
+                linkTo(methodOn(PaymentController.class).listByUser(5L)).withRel("userPayments"),
+                linkTo(methodOn(PaymentController.class).list(4L)).withRel("subscriptionPayments"));
+
+        assertSameLinks(new PlaylistItemModelAssembler().toModel(new PlaylistItemResponse(11L, 6L, 7L, 1)),
+                linkTo(methodOn(PlaylistItemController.class).get(6L, 11L)).withSelfRel(),
+                linkTo(methodOn(PlaylistItemController.class).list(6L)).withRel("items"),
+                linkTo(methodOn(PlaylistItemController.class).patch(6L, 11L, null)).withRel("update"),
+                linkTo(methodOn(PlaylistItemController.class).delete(6L, 11L)).withRel("delete"));
+
+        assertSameLinks(new PlaylistModelAssembler().toModel(new PlaylistResponse(6L, 5L, "p", true)),
+                linkTo(methodOn(PlaylistController.class).create(5L, null)).withRel("create"),
+                linkTo(methodOn(PlaylistController.class).list(5L)).withRel("userPlaylists"));
+
+        assertSameLinks(new SubscriptionModelAssembler().toModel(new SubscriptionResponse(4L, 5L, "free", "trial")),
+                linkTo(methodOn(SubscriptionController.class).list(5L)).withRel("userSubscriptions"),
+                linkTo(methodOn(SubscriptionController.class).create(5L, null)).withRel("create"));
+    }
+
+    @Test
+    void withoutRequest_linksAreRelative() {
+        RequestContextHolder.resetRequestAttributes();
+        Link self = LinkTemplate.of(TrackController.class, "get").link("self", 42L);
+        assertThat(self.getHref()).isEqualTo("/api/tracks/42");
+    }
+
+    private static void assertSameLinks(RepresentationModel<?> model, Link... expected) {
+        assertThat(render(model.getLinks().stream())).containsExactlyElementsOf(render(Stream.of(expected)));
+    }
+
+    private static List<String> render(Stream<Link> links) {
+        return links.map(l -> l.getRel().value() + " " + l.getHref() + (l.isTemplated() ? " (templated)" : "")).toList();
+    }
+}
@@ -0,0 +1,50 @@
+package ua.markiyan.sonara.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AudioUrlResolverTest {
+
+    private static final CdnAudioStorage CDN = new CdnAudioStorage("https://cdn.test");
+
+    @Test
+    void unsignedUrls_arePlainLocations() {
+        AudioUrlResolver urls = new AudioUrlResolver(CDN, "", Duration.ofHours(1), Duration.ofMinutes(5));
+
+        assertThat(urls.url("abc")).isEqualTo("https://cdn.test/abc.mp3");
+        assertThat(urls.url("abc", AudioQuality.HIGH)).isEqualTo("https://cdn.test/abc_320.mp3");
+        assertThat(urls.url(null)).isNull();
+    }
+
+    @Test
+    void signedUrls_stableWithinBucket_verifiableUntilExpiry() {
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.ofEpochSecond(1_000_000));
+        Clock clock = new Clock() {
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { return now.get(); }
+        };
+        AudioUrlResolver urls = new AudioUrlResolver(CDN, "secret", Duration.ofSeconds(3600), Duration.ofSeconds(300), clock);
+
+        String first = urls.url("abc");
+        now.set(now.get().plusSeconds(100)); // той самий 5-хвилинний бакет
+        assertThat(urls.url("abc")).isSameAs(first);
+        // 1_000_000 округлено вгору до 300 с + ttl
+        assertThat(first).startsWith("https://cdn.test/abc.mp3?exp=1003800&sig=");
+
+        String sig = first.substring(first.indexOf("&sig=") + 5);
+        assertThat(urls.verify("abc.mp3", 1_003_800, sig)).isTrue();
+        assertThat(urls.verify("abc_320.mp3", 1_003_800, sig)).isFalse();
+        assertThat(urls.verify("abc.mp3", 1_003_801, sig)).isFalse();
+
+        now.set(Instant.ofEpochSecond(1_003_801));
+        assertThat(urls.verify("abc.mp3", 1_003_800, sig)).isFalse();
+    }
+}
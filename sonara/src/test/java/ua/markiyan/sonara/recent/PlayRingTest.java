@@ -0,0 +1,41 @@
+package ua.markiyan.sonara.recent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayRingTest {
+
+    @Test
+    void newestFirst_oldestOverwrittenWhenFull() {
+        PlayRing ring = new PlayRing(3);
+        for (long t = 1; t <= 5; t++) ring.add(t, t * 1000, 0);
+
+        assertThat(ring.entries(10)).extracting(PlayRing.Entry::trackId).containsExactly(5L, 4L, 3L);
+        assertThat(ring.entries(2)).extracting(PlayRing.Entry::trackId).containsExactly(5L, 4L);
+    }
+
+    @Test
+    void replay_movesTrackToHead_withLatestPosition() {
+        PlayRing ring = new PlayRing(4);
+        ring.add(1, 1000, 0);
+        ring.add(2, 2000, 0);
+        ring.add(3, 3000, 0);
+        ring.add(1, 4000, 95);
+
+        assertThat(ring.entries(10)).containsExactly(
+                new PlayRing.Entry(1, 4000, 95), new PlayRing.Entry(3, 3000, 0), new PlayRing.Entry(2, 2000, 0));
+        assertThat(ring.size()).isEqualTo(3);
+    }
+
+    @Test
+    void lateEvent_forKnownTrack_isIgnored() {
+        PlayRing ring = new PlayRing(2);
+        ring.add(1, 5000, 120);
+        long version = ring.version();
+
+        assertThat(ring.add(1, 4000, 10)).isFalse();
+        assertThat(ring.version()).isEqualTo(version);
+        assertThat(ring.entries(1)).containsExactly(new PlayRing.Entry(1, 5000, 120));
+    }
+}
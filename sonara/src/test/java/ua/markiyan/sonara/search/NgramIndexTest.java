@@ -0,0 +1,45 @@
+package ua.markiyan.sonara.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramIndexTest {
+
+    @Test
+    void matchesSubstringsCaseAndAccentInsensitive() {
+        NgramIndex index = new NgramIndex();
+        index.put(1L, "Bohemian Rhapsody");
+        index.put(2L, "Café del Mar");
+        index.put(3L, "Rhapsody in Blue");
+
+        assertThat(index.search("RHAPS")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("cafe")).containsExactly(2L);
+        assertThat(index.search("zz")).isEmpty();
+    }
+
+    @Test
+    void ranksExactThenPrefixThenWordThenSubstring() {
+        NgramIndex index = new NgramIndex();
+        index.put(10L, "Unloved");
+        index.put(11L, "Love Story");
+        index.put(12L, "Love");
+        index.put(13L, "Crazy Love");
+
+        assertThat(index.search("love")).containsExactly(12L, 11L, 13L, 10L);
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisible() {
+        NgramIndex index = new NgramIndex();
+        index.put(1L, "Yesterday");
+        index.put(1L, "Tomorrow");
+
+        assertThat(index.search("yesterday")).isEmpty();
+        assertThat(index.search("morrow")).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("morrow")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
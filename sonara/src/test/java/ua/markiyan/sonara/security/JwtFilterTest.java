@@ -0,0 +1,75 @@
+package ua.markiyan.sonara.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import ua.markiyan.sonara.entity.User;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+
+    private static final String EMAIL = "owner@sonara.com";
+
+    private final JwtUtil jwtUtil = new JwtUtil("v-super-secret-test-key-for-sonara-spotify-clone-2026",
+            60_000, 0, new SimpleMeterRegistry());
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtFilter filter = new JwtFilter(jwtUtil, userDetailsService, new RevocationList(), true,
+            new SimpleMeterRegistry());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stateless_principalComesFromClaims_withoutALookup() throws Exception {
+        AuthUser user = new AuthUser(7L, EMAIL, "hash", User.Status.ACTIVE, List.of("ROLE_USER"));
+
+        filter(jwtUtil.generateToken(EMAIL, user.claims()));
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(((UserDetails) auth.getPrincipal()).getUsername()).isEqualTo(EMAIL);
+        assertThat(auth.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void stateless_inactiveStatusClaim_isNotAuthenticated() throws Exception {
+        AuthUser banned = new AuthUser(7L, EMAIL, "hash", User.Status.BANNED, List.of("ROLE_USER"));
+
+        filter(jwtUtil.generateToken(EMAIL, banned.claims()));
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void tokenWithoutClaims_fallsBackToTheLookup() throws Exception {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(
+                new AuthUser(7L, EMAIL, "hash", User.Status.ACTIVE, List.of("ROLE_USER")).toUserDetails());
+
+        filter(jwtUtil.generateToken(EMAIL, Map.of()));
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userDetailsService).loadUserByUsername(EMAIL);
+    }
+
+    private void filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
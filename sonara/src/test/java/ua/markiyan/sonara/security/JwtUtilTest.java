@@ -0,0 +1,78 @@
+package ua.markiyan.sonara.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "v-super-secret-test-key-for-sonara-spotify-clone-2026";
+    private static final long EXP_MS = Duration.ofMinutes(15).toMillis();
+
+    // exp у токені з точністю до секунди: старт на цілій секунді
+    private final AtomicLong now = new AtomicLong(1_790_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, EXP_MS, 100, registry, now::get);
+
+    @Test
+    void cachedUntilExp_thenRejected() {
+        String token = jwtUtil.generateToken("owner@sonara.com", Map.of());
+        Claims first = jwtUtil.parseToken(token).getBody();
+
+        now.addAndGet(EXP_MS - 1);
+        assertThat(jwtUtil.parseToken(token).getBody()).isSameAs(first);
+        assertThat(verifications()).isEqualTo(1);
+
+        now.addAndGet(2);
+        assertThatThrownBy(() -> jwtUtil.parseToken(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    @Test
+    void tamperedToken_neverHitsTheOriginalsEntry() {
+        String token = jwtUtil.generateToken("owner@sonara.com", Map.of("status", "ACTIVE"));
+        jwtUtil.parseToken(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = parts[1].substring(0, parts[1].length() - 2) + (parts[1].endsWith("A") ? "BB" : "AA");
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(tampered)).isInstanceOf(JwtException.class);
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    @Test
+    void reSignedToken_withTheSameClaims_isVerifiedAndRejected() {
+        String token = jwtUtil.generateToken("owner@sonara.com", Map.of("status", "ACTIVE"));
+        Claims claims = jwtUtil.parseToken(token).getBody();
+
+        String reSigned = Jwts.builder()
+                .setClaims(claims)
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-long-enough-for-hs256".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(reSigned)).isInstanceOf(JwtException.class);
+        assertThat(verifications()).isEqualTo(2);
+        // оригінал і далі береться з кешу
+        assertThat(jwtUtil.parseToken(token).getBody()).isSameAs(claims);
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    private long verifications() {
+        return registry.get("jwt.parse").timer().count();
+    }
+}
@@ -0,0 +1,43 @@
+package ua.markiyan.sonara.security;
+
+import org.junit.jupiter.api.Test;
+import ua.markiyan.sonara.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LoginThrottle throttle = new LoginThrottle(
+            new LoginThrottle.Limit(3, Duration.ofSeconds(1)),
+            new LoginThrottle.Limit(2, Duration.ofMinutes(1)),
+            now::get);
+
+    @Test
+    void ipBucket_emptiesAndRefills() {
+        for (int i = 0; i < 3; i++) throttle.checkAttempt("10.0.0.1", "a" + i + "@x.com");
+        assertThatThrownBy(() -> throttle.checkAttempt("10.0.0.1", "b@x.com")).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkAttempt("10.0.0.2", "b@x.com")).doesNotThrowAnyException();
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThatCode(() -> throttle.checkAttempt("10.0.0.1", "b@x.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void accountBucket_onlyFailuresCount() {
+        for (int i = 0; i < 3; i++) {
+            now.addAndGet(Duration.ofSeconds(1).toNanos()); // IP-кошик не заважає
+            throttle.checkAttempt("10.0.0.1", "Owner@x.com");
+        }
+        throttle.failed("owner@x.com");
+        throttle.failed("OWNER@x.com ");
+        assertThatThrownBy(() -> throttle.checkAttempt("10.0.0.3", "owner@x.com")).isInstanceOf(TooManyRequestsException.class);
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThatCode(() -> throttle.checkAttempt("10.0.0.3", "owner@x.com")).doesNotThrowAnyException();
+    }
+}
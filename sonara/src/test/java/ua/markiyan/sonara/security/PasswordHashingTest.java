@@ -0,0 +1,56 @@
+package ua.markiyan.sonara.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ua.markiyan.sonara.exception.ServiceUnavailableException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingTest {
+
+    @Test
+    void fullQueue_rejectsRightAway() throws Exception {
+        PasswordHashing hashing = new PasswordHashing(1, 1, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            var running = hashing.submit(() -> await(release));
+            var queued = hashing.submit(() -> "queued");
+
+            // потік зайнятий, черга повна — відмова без очікування
+            assertThatThrownBy(() -> hashing.submit(() -> "rejected")).isInstanceOf(ServiceUnavailableException.class);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        } finally {
+            release.countDown();
+            hashing.destroy();
+        }
+    }
+
+    @Test
+    void nestedCall_runsInlineOnPool() throws Exception {
+        PasswordHashing hashing = new PasswordHashing(1, 1, new SimpleMeterRegistry());
+        try {
+            // з одним потоком вкладений call() через чергу зависнув би
+            String thread = hashing.submit(() -> hashing.call(() -> Thread.currentThread().getName()))
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(thread).startsWith("hashing-");
+        } finally {
+            hashing.destroy();
+        }
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return "done";
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
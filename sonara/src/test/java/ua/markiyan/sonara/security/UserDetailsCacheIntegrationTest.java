@@ -0,0 +1,91 @@
+package ua.markiyan.sonara.security;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.markiyan.sonara.config.CacheConfig;
+import ua.markiyan.sonara.dto.request.UserUpdateRequest;
+import ua.markiyan.sonara.entity.User;
+import ua.markiyan.sonara.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The auth snapshot is cached under the lower-cased email; user changes must evict that key. */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDetailsCacheIntegrationTest {
+
+    private static final String KEY = "evict.me@sonara.com";
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private TransactionTemplate tx;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(s -> {
+            user = User.builder().email("Evict.Me@Sonara.com").passwordHash("x").name("Evict Me").build();
+            em.persist(user);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> em.createQuery("delete from User u where u.id = :id")
+                .setParameter("id", user.getId()).executeUpdate());
+        cache().clear();
+    }
+
+    @Test
+    void snapshot_isCachedUnderTheLowerCasedEmail() {
+        AuthUser loaded = userDetailsService.loadSnapshot("EVICT.me@sonara.com");
+
+        assertThat(cache().get(KEY, AuthUser.class)).isSameAs(loaded);
+        assertThat(userDetailsService.loadSnapshot("evict.me@SONARA.com")).isSameAs(loaded);
+    }
+
+    @Test
+    void update_evictsTheSnapshot() {
+        userDetailsService.loadSnapshot("Evict.Me@Sonara.com");
+
+        userService.update(user.getId(), new UserUpdateRequest(null, "Evicted", null));
+
+        assertThat(cache().get(KEY)).isNull();
+    }
+
+    @Test
+    void delete_evictsTheSnapshot() {
+        userDetailsService.loadSnapshot("Evict.Me@Sonara.com");
+
+        userService.delete(user.getId());
+
+        assertThat(cache().get(KEY)).isNull();
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.USER_DETAILS);
+    }
+}